@@ -0,0 +1,104 @@
+package co.mz.insurance.mk.benchmarks;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.web.TodoListsController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moving every item of a list to DONE: the bulk update behind
+ * PUT /lists/{listId}/items/state/{state} against the former loop that
+ * loaded and saved each item.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkStateUpdateBenchmark {
+
+  @Param({ "10000", "100000" })
+  public int items;
+
+  @Param({ "" })
+  public String jdbcUrl;
+
+  private ConfigurableApplicationContext context;
+
+  private JdbcTemplate jdbc;
+
+  private TodoItemRepository todoItemRepository;
+
+  private TodoListsController todoListsController;
+
+  private long listId;
+
+  private List<String> itemIds;
+
+  @Setup
+  public void setUp() {
+    context = Fixtures.start(WebApplicationType.NONE, jdbcUrl, false);
+    jdbc = context.getBean(JdbcTemplate.class);
+    listId = Fixtures.seedList(jdbc, items);
+    long firstItemId = Fixtures.firstItemId(jdbc, listId);
+    itemIds = new ArrayList<>(items);
+    for (long id = firstItemId; id < firstItemId + items; id++) {
+      itemIds.add(String.valueOf(id));
+    }
+    todoItemRepository = context.getBean(TodoItemRepository.class);
+    todoListsController = context.getBean(TodoListsController.class);
+  }
+
+  @Setup(Level.Invocation)
+  public void resetStates() {
+    jdbc.update(
+      "update todo_item set state_code = 'todo', completed_date = null where list_id = ?",
+      listId
+    );
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Object bulkUpdate() {
+    return todoListsController.updateItemsStateByListId(
+      listId,
+      TodoState.DONE,
+      itemIds
+    );
+  }
+
+  @Benchmark
+  public int perRowLoop() {
+    int updated = 0;
+    for (TodoItem todoItem : todoItemRepository.findByListId(listId)) {
+      todoItem.state(TodoState.DONE);
+      todoItemRepository.save(todoItem);
+      updated++;
+    }
+    return updated;
+  }
+}
@@ -0,0 +1,188 @@
+package co.mz.insurance.mk.benchmarks;
+
+import co.mz.insurance.mk.configuration.RFC3339DateFormat;
+import co.mz.insurance.mk.configuration.RFC3339DateTimeFormat;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the RFC 3339 date formatting and parsing under 64 threads
+ * sharing the formatters, as the request threads do. {@code baseline} goes
+ * through {@code DateTimeFormatter} and, for {@link Date}, a
+ * {@link StdDateFormat} cloned for each use as Jackson does;
+ * {@code optimized} through {@link RFC3339DateTimeFormat} and the shared
+ * {@link RFC3339DateFormat}. {@code dates} is the number of distinct values,
+ * so that most are either written from the cache or formatted again.
+ * <p>
+ * The setup is a stress check: it fails unless 64 threads formatting and
+ * parsing random values through the shared formatters all get the same
+ * results as {@code DateTimeFormatter} and {@link StdDateFormat}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class DateFormatBenchmark {
+
+  private static final int STRESS_THREADS = 64;
+
+  private static final int STRESS_ITERATIONS = 10_000;
+
+  @Param({ "1000", "1000000" })
+  public int dates;
+
+  @Param({ "baseline", "optimized" })
+  public String formatter;
+
+  private OffsetDateTime[] values;
+
+  private String[] texts;
+
+  private Date[] legacyDates;
+
+  private StdDateFormat stdDateFormat;
+
+  private RFC3339DateFormat rfc3339DateFormat;
+
+  private boolean optimized;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int next;
+
+    int next(int size) {
+      if (++next == size) {
+        next = 0;
+      }
+      return next;
+    }
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    Random random = new Random(42);
+    values = new OffsetDateTime[dates];
+    texts = new String[dates];
+    legacyDates = new Date[dates];
+    for (int i = 0; i < dates; i++) {
+      values[i] = JsonSerializationBenchmark.randomDate(random, i);
+      texts[i] = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(values[i]);
+      legacyDates[i] = Date.from(values[i].toInstant());
+    }
+    stdDateFormat =
+      new StdDateFormat()
+        .withTimeZone(TimeZone.getTimeZone("UTC"))
+        .withColonInTimeZone(true);
+    rfc3339DateFormat = new RFC3339DateFormat();
+    optimized = "optimized".equals(formatter);
+    stressCheck();
+  }
+
+  @Benchmark
+  public Object format(Cursor cursor) {
+    OffsetDateTime value = values[cursor.next(dates)];
+    return optimized
+      ? RFC3339DateTimeFormat.format(value)
+      : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+  }
+
+  @Benchmark
+  public OffsetDateTime parse(Cursor cursor) {
+    String text = texts[cursor.next(dates)];
+    return optimized
+      ? RFC3339DateTimeFormat.parse(text)
+      : OffsetDateTime.parse(text);
+  }
+
+  @Benchmark
+  public String formatDate(Cursor cursor) {
+    Date date = legacyDates[cursor.next(dates)];
+    DateFormat format = optimized
+      ? (DateFormat) rfc3339DateFormat.clone()
+      : (DateFormat) stdDateFormat.clone();
+    return format.format(date);
+  }
+
+  /**
+   * Format and parse random values from many threads at once through the
+   * shared formatters, and compare with the JDK and Jackson.
+   */
+  private void stressCheck() throws Exception {
+    ExecutorService threads = Executors.newFixedThreadPool(STRESS_THREADS);
+    try {
+      List<Future<?>> results = new ArrayList<>(STRESS_THREADS);
+      for (int t = 0; t < STRESS_THREADS; t++) {
+        Random random = new Random(t);
+        results.add(threads.submit(() -> stress(random)));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  private Void stress(Random random) throws Exception {
+    for (int i = 0; i < STRESS_ITERATIONS; i++) {
+      int index = random.nextInt(dates);
+      String text = texts[index];
+      check(RFC3339DateTimeFormat.format(values[index]).getValue(), text);
+      check(RFC3339DateTimeFormat.parse(text), OffsetDateTime.parse(text));
+      Date date = legacyDates[index];
+      DateFormat expected = (DateFormat) stdDateFormat.clone();
+      String legacyText = expected.format(date);
+      check(rfc3339DateFormat.format(date), legacyText);
+      check(parse(rfc3339DateFormat, legacyText), parse(expected, legacyText));
+    }
+    return null;
+  }
+
+  /**
+   * The parsed date, or the error, as {@link StdDateFormat} cannot read back
+   * all the dates it writes.
+   */
+  private static Object parse(DateFormat format, String text) {
+    try {
+      return format.parse(text);
+    } catch (ParseException e) {
+      return "unparseable";
+    }
+  }
+
+  private static void check(Object actual, Object expected) {
+    if (!expected.equals(actual)) {
+      throw new IllegalStateException(
+        "Expected " + expected + " but was " + actual
+      );
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package co.mz.insurance.mk.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for comparing server execution modes, e.g.
+ * platform against virtual threads. Each of {@code concurrency} virtual
+ * clients sends the next request as soon as the previous one completes.
+ * <p>
+ * Usage: {@code HttpLoadTest <url> [concurrency] [seconds]}, against an
+ * application started separately. Prints one JSON document with the
+ * throughput, latency percentiles and the server heap in use, read from the
+ * actuator metrics endpoint.
+ */
+public final class HttpLoadTest {
+
+  private HttpLoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    URI target = URI.create(args[0]);
+    int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+    HttpClient client = HttpClient
+      .newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(30))
+      .build();
+    HttpRequest request = HttpRequest.newBuilder(target).GET().build();
+    long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+    AtomicLong succeeded = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+    ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    CompletableFuture<?>[] clients = new CompletableFuture<?>[concurrency];
+    for (int i = 0; i < concurrency; i++) {
+      clients[i] =
+        loop(client, request, deadline, succeeded, failed, latencies);
+    }
+    CompletableFuture.allOf(clients).join();
+
+    long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(sorted);
+    String heap = serverHeapUsed(client, target);
+    System.out.printf(
+      "{\"url\":\"%s\",\"concurrency\":%d,\"seconds\":%d,\"requests\":%d," +
+      "\"errors\":%d,\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f," +
+      "\"p999Ms\":%.2f,\"serverHeapUsedBytes\":%s}%n",
+      target,
+      concurrency,
+      seconds,
+      succeeded.get(),
+      failed.get(),
+      succeeded.get() / (double) seconds,
+      percentile(sorted, 0.50),
+      percentile(sorted, 0.99),
+      percentile(sorted, 0.999),
+      heap
+    );
+  }
+
+  private static CompletableFuture<Void> loop(
+    HttpClient client,
+    HttpRequest request,
+    long deadline,
+    AtomicLong succeeded,
+    AtomicLong failed,
+    ConcurrentLinkedQueue<Long> latencies
+  ) {
+    if (System.nanoTime() >= deadline) {
+      return CompletableFuture.completedFuture(null);
+    }
+    long start = System.nanoTime();
+    return client
+      .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+      .handle((response, error) -> {
+        if (error == null && response.statusCode() < 400) {
+          succeeded.incrementAndGet();
+          latencies.add(System.nanoTime() - start);
+        } else {
+          failed.incrementAndGet();
+        }
+        return null;
+      })
+      .thenCompose(ignored ->
+        loop(client, request, deadline, succeeded, failed, latencies)
+      );
+  }
+
+  private static double percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1_000_000.0;
+  }
+
+  private static String serverHeapUsed(HttpClient client, URI target) {
+    URI metrics = target.resolve("/actuator/metrics/jvm.memory.used?tag=area:heap");
+    try {
+      String body = client
+        .send(
+          HttpRequest.newBuilder(metrics).GET().build(),
+          HttpResponse.BodyHandlers.ofString()
+        )
+        .body();
+      int value = body.indexOf("\"value\":");
+      if (value < 0) {
+        return "null";
+      }
+      int end = value + 8;
+      while (
+        end < body.length() && "0123456789.E-+".indexOf(body.charAt(end)) >= 0
+      ) {
+        end++;
+      }
+      return body.substring(value + 8, end);
+    } catch (Exception e) {
+      return "null";
+    }
+  }
+}
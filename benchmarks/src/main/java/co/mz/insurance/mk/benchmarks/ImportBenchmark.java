@@ -0,0 +1,88 @@
+package co.mz.insurance.mk.benchmarks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Bulk NDJSON import throughput, reported in rows per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+  private static final int ROWS = 10_000;
+
+  @Param({ "" })
+  public String jdbcUrl;
+
+  private ConfigurableApplicationContext context;
+
+  private MockMvc mockMvc;
+
+  private long listId;
+
+  private byte[] body;
+
+  @Setup
+  public void setUp() {
+    context = Fixtures.start(WebApplicationType.SERVLET, jdbcUrl, false);
+    listId = Fixtures.seedList(context.getBean(JdbcTemplate.class), 0);
+    mockMvc =
+      MockMvcBuilders
+        .webAppContextSetup((WebApplicationContext) context)
+        .build();
+    StringBuilder ndjson = new StringBuilder();
+    for (int i = 0; i < ROWS; i++) {
+      ndjson
+        .append("{\"name\":\"Imported item ")
+        .append(i)
+        .append("\",\"description\":\"Imported by the benchmark\",")
+        .append("\"state\":\"todo\",\"dueDate\":\"2030-01-01T00:00:00Z\"}\n");
+    }
+    body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public MvcResult importNdjson() throws Exception {
+    return mockMvc
+      .perform(
+        post("/lists/{listId}/items/import", listId)
+          .contentType(MediaType.APPLICATION_NDJSON)
+          .content(body)
+      )
+      .andReturn();
+  }
+}
@@ -0,0 +1,102 @@
+package co.mz.insurance.mk.benchmarks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Insert throughput through the Spring MVC stack, with one sequence call per
+ * insert (an allocation size of 1) and with ids reserved in blocks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+
+  private static final String ITEM_JSON =
+    "{\"name\":\"Benchmark item\",\"description\":\"Created by the benchmark\"," +
+    "\"state\":\"todo\",\"dueDate\":\"2030-01-01T00:00:00Z\"}";
+
+  private static final String LIST_JSON =
+    "{\"name\":\"Benchmark list\",\"description\":\"Created by the benchmark\"}";
+
+  @Param({ "1", "50" })
+  public int idAllocationSize;
+
+  /**
+   * An existing database must have been created with the same allocation
+   * size, so only one value of {@link #idAllocationSize} applies to it.
+   */
+  @Param({ "" })
+  public String jdbcUrl;
+
+  private ConfigurableApplicationContext context;
+
+  private MockMvc mockMvc;
+
+  private long listId;
+
+  @Setup
+  public void setUp() {
+    context =
+      Fixtures.start(
+        WebApplicationType.SERVLET,
+        jdbcUrl,
+        false,
+        idAllocationSize
+      );
+    listId = Fixtures.seedList(context.getBean(JdbcTemplate.class), 0);
+    mockMvc =
+      MockMvcBuilders
+        .webAppContextSetup((WebApplicationContext) context)
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public MvcResult createItem() throws Exception {
+    return mockMvc
+      .perform(
+        post("/lists/{listId}/items", listId)
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(ITEM_JSON)
+      )
+      .andReturn();
+  }
+
+  @Benchmark
+  public MvcResult createList() throws Exception {
+    return mockMvc
+      .perform(
+        post("/lists").contentType(MediaType.APPLICATION_JSON).content(LIST_JSON)
+      )
+      .andReturn();
+  }
+}
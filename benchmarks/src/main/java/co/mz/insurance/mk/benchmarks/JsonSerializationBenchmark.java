@@ -0,0 +1,217 @@
+package co.mz.insurance.mk.benchmarks;
+
+import co.mz.insurance.mk.configuration.JsonConfiguration;
+import co.mz.insurance.mk.configuration.RFC3339DateFormat;
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoList;
+import co.mz.insurance.mk.model.TodoState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson (de)serialization of the API models, with the same configuration
+ * as the application. {@code baseline} is the plain reflective path, with
+ * ids through ToStringSerializer and dates and states through the default
+ * serializers; {@code optimized} adds the modules of JsonConfiguration.
+ * <p>
+ * The setup fails unless both produce byte-identical JSON for the benchmark
+ * data and for a large sample of random items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+  private static final int RANDOM_ITEMS = 100_000;
+
+  private static final long MIN_SECOND = Instant
+    .parse("0000-01-01T00:00:00Z")
+    .getEpochSecond();
+
+  private static final long MAX_SECOND = Instant
+    .parse("9998-12-31T00:00:00Z")
+    .getEpochSecond();
+
+  @Param({ "100" })
+  public int pageSize;
+
+  @Param({ "baseline", "optimized" })
+  public String serializers;
+
+  private ObjectMapper objectMapper;
+
+  private TodoItem item;
+
+  private List<TodoItem> page;
+
+  private TodoList list;
+
+  private byte[] itemJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    item = item(1L);
+    page = new ArrayList<>(pageSize);
+    for (long id = 1; id <= pageSize; id++) {
+      page.add(item(id));
+    }
+    list =
+      new TodoList().id(1L).name("Groceries").description("Weekly shopping");
+    ObjectMapper baseline = mapper(false);
+    ObjectMapper optimized = mapper(true);
+    verifyIdentical(baseline, optimized, item);
+    verifyIdentical(baseline, optimized, page);
+    verifyIdentical(baseline, optimized, list);
+    verifyIdentical(baseline, optimized, randomItems(RANDOM_ITEMS));
+    objectMapper = "optimized".equals(serializers) ? optimized : baseline;
+    itemJson = objectMapper.writeValueAsBytes(item);
+  }
+
+  @Benchmark
+  public byte[] serializeItem() throws IOException {
+    return objectMapper.writeValueAsBytes(item);
+  }
+
+  @Benchmark
+  public byte[] serializeItemPage() throws IOException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] serializeList() throws IOException {
+    return objectMapper.writeValueAsBytes(list);
+  }
+
+  @Benchmark
+  public TodoItem deserializeItem() throws IOException {
+    return objectMapper.readValue(itemJson, TodoItem.class);
+  }
+
+  static ObjectMapper mapper(boolean optimized) {
+    Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder
+      .json()
+      .dateFormat(new RFC3339DateFormat())
+      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    if (optimized) {
+      JsonConfiguration configuration = new JsonConfiguration();
+      builder.modulesToInstall(
+        configuration.blackbirdModule(),
+        configuration.todoSerializersModule()
+      );
+    } else {
+      builder
+        .mixIn(TodoItem.class, ToStringIdMixIn.class)
+        .mixIn(TodoList.class, ToStringIdMixIn.class);
+    }
+    return builder.build();
+  }
+
+  private static void verifyIdentical(
+    ObjectMapper baseline,
+    ObjectMapper optimized,
+    Object value
+  ) throws IOException {
+    byte[] expected = baseline.writeValueAsBytes(value);
+    byte[] actual = optimized.writeValueAsBytes(value);
+    if (!Arrays.equals(expected, actual)) {
+      throw new IllegalStateException(
+        "Optimized serializers changed the output:\n" +
+        new String(expected, StandardCharsets.UTF_8) +
+        "\n" +
+        new String(actual, StandardCharsets.UTF_8)
+      );
+    }
+  }
+
+  private static TodoItem item(long id) {
+    OffsetDateTime now = OffsetDateTime.now();
+    return new TodoItem()
+      .id(id)
+      .listId(1L)
+      .name("Item " + id)
+      .description("Description of item " + id)
+      .state(TodoState.values()[(int) (id % TodoState.values().length)])
+      .dueDate(now.plusDays(id % 30))
+      .completedDate(id % 3 == 0 ? now : null);
+  }
+
+  /**
+   * Items covering the edge cases of the id and date formats, see
+   * {@link #randomDate}.
+   */
+  private static List<TodoItem> randomItems(int count) {
+    Random random = new Random(42);
+    List<TodoItem> items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      OffsetDateTime date = randomDate(random, i);
+      items.add(
+        new TodoItem()
+          .id(i % 7 == 0 ? random.nextLong() : (long) i)
+          .listId((long) i)
+          .name("Item " + i)
+          .description("\"Quoted\" é ✓ " + i)
+          .state(i % 11 == 0 ? null : TodoState.values()[i % 3])
+          .dueDate(date)
+          .completedDate(i % 2 == 0 ? null : date.withNano(0))
+      );
+    }
+    return items;
+  }
+
+  /**
+   * A date covering the edge cases of the RFC 3339 form: years 0000-9999,
+   * whole seconds and fractions of every length, and offsets with seconds.
+   *
+   * @param i the index of the date, to vary the forms evenly
+   */
+  static OffsetDateTime randomDate(Random random, int i) {
+    long second =
+      MIN_SECOND + (long) (random.nextDouble() * (MAX_SECOND - MIN_SECOND));
+    int nano = random.nextInt(1_000_000_000);
+    nano -= nano % (int) Math.pow(10, random.nextInt(10));
+    ZoneOffset offset = ZoneOffset.ofTotalSeconds(
+      (random.nextInt(35) - 17) * 3600 +
+      (i % 4 == 0 ? random.nextInt(60) * 60 : 0) +
+      (i % 16 == 0 ? random.nextInt(60) : 0)
+    );
+    return Instant
+      .ofEpochSecond(second, i % 5 == 0 ? 0 : nano)
+      .atOffset(offset);
+  }
+
+  /**
+   * Ids as the models declared them before IdSerializer.
+   */
+  abstract static class ToStringIdMixIn {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+  }
+}
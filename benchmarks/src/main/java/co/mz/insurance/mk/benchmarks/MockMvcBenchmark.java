@@ -0,0 +1,134 @@
+package co.mz.insurance.mk.benchmarks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Full request paths through the Spring MVC stack, from request mapping to
+ * the serialized response. Sampled so the results include tail percentiles,
+ * and run with and without the second-level cache. Inserts are measured by
+ * {@link InsertBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockMvcBenchmark {
+
+  private static final String ITEM_JSON =
+    "{\"name\":\"Benchmark item\",\"description\":\"Created by the benchmark\"," +
+    "\"state\":\"todo\",\"dueDate\":\"2030-01-01T00:00:00Z\"}";
+
+  @Param({ "true", "false" })
+  public boolean secondLevelCache;
+
+  @Param({ "1000" })
+  public int items;
+
+  @Param({ "" })
+  public String jdbcUrl;
+
+  private ConfigurableApplicationContext context;
+
+  private MockMvc mockMvc;
+
+  private long listId;
+
+  private long firstItemId;
+
+  private String firstItemETag;
+
+  @Setup
+  public void setUp() throws Exception {
+    context =
+      Fixtures.start(WebApplicationType.SERVLET, jdbcUrl, secondLevelCache);
+    JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+    listId = Fixtures.seedList(jdbc, items);
+    firstItemId = Fixtures.firstItemId(jdbc, listId);
+    mockMvc =
+      MockMvcBuilders
+        .webAppContextSetup((WebApplicationContext) context)
+        .build();
+    firstItemETag =
+      mockMvc
+        .perform(get("/lists/{listId}/items/{itemId}", listId, firstItemId))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public MvcResult getItem() throws Exception {
+    long itemId = firstItemId + ThreadLocalRandom.current().nextInt(items);
+    return mockMvc
+      .perform(get("/lists/{listId}/items/{itemId}", listId, itemId))
+      .andReturn();
+  }
+
+  @Benchmark
+  public MvcResult getItemNotModified() throws Exception {
+    return mockMvc
+      .perform(
+        get("/lists/{listId}/items/{itemId}", listId, firstItemId)
+          .header(HttpHeaders.IF_NONE_MATCH, firstItemETag)
+      )
+      .andReturn();
+  }
+
+  @Benchmark
+  public MvcResult getItemsPage() throws Exception {
+    return mockMvc.perform(get("/lists/{listId}/items", listId)).andReturn();
+  }
+
+  @Benchmark
+  public MvcResult getListById() throws Exception {
+    return mockMvc.perform(get("/lists/{listId}", listId)).andReturn();
+  }
+
+  @Benchmark
+  public MvcResult getLists() throws Exception {
+    return mockMvc.perform(get("/lists")).andReturn();
+  }
+
+  @Benchmark
+  public MvcResult updateItem() throws Exception {
+    return mockMvc
+      .perform(
+        put("/lists/{listId}/items/{itemId}", listId, firstItemId)
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(ITEM_JSON)
+      )
+      .andReturn();
+  }
+}
@@ -0,0 +1,114 @@
+package co.mz.insurance.mk.benchmarks;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Repository finders against a seeded list. Latency should stay flat as
+ * {@code items} grows, which shows the finders are served by the
+ * (list_id, id) and (list_id, state_code, id) indexes.
+ * <p>
+ * Runs on an in-memory H2 database by default; pass
+ * {@code -p jdbcUrl=jdbc:postgresql://localhost/todo?user=...&password=...}
+ * to run against PostgreSQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+  private static final int PAGE_SIZE = 20;
+
+  @Param({ "10000", "1000000" })
+  public int items;
+
+  @Param({ "" })
+  public String jdbcUrl;
+
+  private ConfigurableApplicationContext context;
+
+  private TodoItemRepository todoItemRepository;
+
+  private long listId;
+
+  private long firstItemId;
+
+  @Setup
+  public void setUp() {
+    context = Fixtures.start(WebApplicationType.NONE, jdbcUrl, false);
+    JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+    listId = Fixtures.seedList(jdbc, items);
+    firstItemId = Fixtures.firstItemId(jdbc, listId);
+    todoItemRepository = context.getBean(TodoItemRepository.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Optional<TodoItem> findByIdAndListId() {
+    long id = firstItemId + ThreadLocalRandom.current().nextInt(items);
+    return todoItemRepository.findByIdAndListId(id, listId);
+  }
+
+  @Benchmark
+  public List<TodoItem> firstPage() {
+    return todoItemRepository.findByListId(
+      listId,
+      PageRequest.of(0, PAGE_SIZE, Sort.by("id"))
+    );
+  }
+
+  @Benchmark
+  public List<TodoItem> lastPageByOffset() {
+    return todoItemRepository.findByListId(
+      listId,
+      PageRequest.of(items / PAGE_SIZE - 1, PAGE_SIZE, Sort.by("id"))
+    );
+  }
+
+  @Benchmark
+  public List<TodoItem> lastPageByKeyset() {
+    return todoItemRepository.findByListIdAndIdGreaterThanOrderByIdAsc(
+      listId,
+      firstItemId + items - PAGE_SIZE - 1,
+      PageRequest.of(0, PAGE_SIZE)
+    );
+  }
+
+  @Benchmark
+  public List<TodoItem> firstPageByState() {
+    return todoItemRepository.findByListIdAndState(
+      listId,
+      TodoState.DONE,
+      PageRequest.of(0, PAGE_SIZE, Sort.by("id"))
+    );
+  }
+}
@@ -0,0 +1,80 @@
+package co.mz.insurance.mk.benchmarks;
+
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.service.TodoItemSearchIndex;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Full-text search over a seeded list. {@code selective} matches a single
+ * item, {@code broad} matches every item and so measures ranking the whole
+ * index.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+  private static final int PAGE_SIZE = 20;
+
+  @Param({ "100000", "1000000" })
+  public int items;
+
+  private ConfigurableApplicationContext context;
+
+  private TodoItemSearchIndex searchIndex;
+
+  private long listId;
+
+  private long firstItemId;
+
+  @Setup
+  public void setUp() {
+    context = Fixtures.start(WebApplicationType.NONE, "", false);
+    JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+    listId = Fixtures.seedList(jdbc, items);
+    firstItemId = Fixtures.firstItemId(jdbc, listId);
+    searchIndex = context.getBean(TodoItemSearchIndex.class);
+    searchIndex.rebuild();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Long> selective() {
+    long id = firstItemId + ThreadLocalRandom.current().nextInt(items);
+    return searchIndex.search("\"item " + id + "\"", null, null, 0, PAGE_SIZE);
+  }
+
+  @Benchmark
+  public List<Long> broad() {
+    return searchIndex.search("seeded", listId, null, 0, PAGE_SIZE);
+  }
+
+  @Benchmark
+  public List<Long> broadByState() {
+    return searchIndex.search("seeded", listId, TodoState.DONE, 0, PAGE_SIZE);
+  }
+}
@@ -0,0 +1,70 @@
+package co.mz.insurance.mk.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Time to first request: start the application in a fresh JVM and wait for
+ * the first {@code GET /lists} to be answered. Every fork measures a single
+ * cold start, with the default set-up and with the {@code fast-startup}
+ * profile.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  @Param({ "", "fast-startup" })
+  public String profile;
+
+  private ConfigurableApplicationContext context;
+
+  @Benchmark
+  public int timeToFirstRequest() throws IOException, InterruptedException {
+    context =
+      Fixtures.start(
+        WebApplicationType.SERVLET,
+        "",
+        true,
+        profile.isEmpty() ? new String[0] : new String[] { profile }
+      );
+    String port = context.getEnvironment().getProperty("local.server.port");
+    return HttpClient
+      .newHttpClient()
+      .send(
+        HttpRequest
+          .newBuilder(URI.create("http://localhost:" + port + "/lists"))
+          .build(),
+        HttpResponse.BodyHandlers.discarding()
+      )
+      .statusCode();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    if (context != null) {
+      context.close();
+    }
+  }
+}
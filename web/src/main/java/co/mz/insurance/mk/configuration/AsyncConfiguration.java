@@ -0,0 +1,12 @@
+package co.mz.insurance.mk.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Runs {@code @Async} methods, such as batched purges of deleted lists, on
+ * Spring Boot's application task executor.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfiguration {}
@@ -0,0 +1,44 @@
+package co.mz.insurance.mk.configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Publishes hit, miss, put and eviction metrics of the Hibernate second-level
+ * cache regions. Hibernate's own statistics are bound by Spring Boot, but do
+ * not include evictions.
+ */
+@Configuration
+@Profile("!reactive")
+public class CacheMetricsConfiguration {
+
+  @Bean
+  public MeterBinder secondLevelCacheMetrics(
+    EntityManagerFactory entityManagerFactory
+  ) {
+    return registry -> {
+      // The cache manager Hibernate uses, not one resolved again from the
+      // configuration, which another class loader would make a second one
+      RegionFactory regionFactory = entityManagerFactory
+        .unwrap(SessionFactoryImplementor.class)
+        .getCache()
+        .getRegionFactory();
+      if (!(regionFactory instanceof JCacheRegionFactory)) {
+        return;
+      }
+      CacheManager cacheManager =
+        ((JCacheRegionFactory) regionFactory).getCacheManager();
+      for (String name : cacheManager.getCacheNames()) {
+        JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+      }
+    };
+  }
+}
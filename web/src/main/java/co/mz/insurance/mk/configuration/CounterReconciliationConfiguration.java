@@ -0,0 +1,66 @@
+package co.mz.insurance.mk.configuration;
+
+import co.mz.insurance.mk.repository.TodoListStateCountRepository;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically recomputes the per-list state counters from the items, fixing
+ * any drift left by writes that bypass the incremental updates. The reactive
+ * profile does not maintain the counters itself and relies on this job.
+ * Lists are recounted a chunk at a time, each in its own transaction, so
+ * writers to those lists wait only for one chunk. The transactions are plain
+ * JDBC ones over the data source, which the reactive profile keeps for
+ * Flyway without any transaction manager of its own.
+ */
+@Configuration
+@EnableScheduling
+public class CounterReconciliationConfiguration {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    CounterReconciliationConfiguration.class
+  );
+
+  private static final int RECOUNT_CHUNK_SIZE = 500;
+
+  private final TodoListStateCountRepository todoListStateCountRepository;
+
+  private final TransactionTemplate transaction;
+
+  public CounterReconciliationConfiguration(
+    TodoListStateCountRepository todoListStateCountRepository,
+    DataSource dataSource
+  ) {
+    this.todoListStateCountRepository = todoListStateCountRepository;
+    this.transaction =
+      new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+  }
+
+  @Scheduled(
+    initialDelayString = "${todo.counters.reconcile-interval-ms}",
+    fixedDelayString = "${todo.counters.reconcile-interval-ms}"
+  )
+  public void reconcile() {
+    todoListStateCountRepository.repairAll();
+    List<Long> listIds = todoListStateCountRepository.findListIds();
+    int reconciled = 0;
+    for (int from = 0; from < listIds.size(); from += RECOUNT_CHUNK_SIZE) {
+      List<Long> chunk = listIds.subList(
+        from,
+        Math.min(from + RECOUNT_CHUNK_SIZE, listIds.size())
+      );
+      Integer recounted = transaction.execute(status ->
+        todoListStateCountRepository.recount(chunk)
+      );
+      reconciled += recounted == null ? 0 : recounted;
+    }
+    log.debug("Reconciled {} list state counters", reconciled);
+  }
+}
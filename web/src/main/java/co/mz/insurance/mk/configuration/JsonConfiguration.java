@@ -0,0 +1,39 @@
+package co.mz.insurance.mk.configuration;
+
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.model.TodoStateSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.time.OffsetDateTime;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules picked up by Spring Boot's {@code ObjectMapper}: Blackbird,
+ * which replaces reflective getter calls with generated lambdas, and direct
+ * serializers for the dates and states of the API models. Dates are also
+ * read with {@link RFC3339DateTimeFormat}. Ids are written by
+ * {@link co.mz.insurance.mk.model.IdSerializer}, declared on the models. The
+ * output is byte for byte the same as without them, as checked by the
+ * {@code JsonSerializationBenchmark}.
+ */
+@Configuration
+public class JsonConfiguration {
+
+  @Bean
+  public Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+
+  @Bean
+  public Module todoSerializersModule() {
+    return new SimpleModule("todo-serializers")
+      .addSerializer(OffsetDateTime.class, new OffsetDateTimeJsonSerializer())
+      .addDeserializer(
+        OffsetDateTime.class,
+        new OffsetDateTimeJsonDeserializer()
+      )
+      .addSerializer(TodoState.class, new TodoStateSerializer());
+  }
+}
@@ -0,0 +1,81 @@
+package co.mz.insurance.mk.configuration;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * Reads an {@link OffsetDateTime} into the same value as the Java time module
+ * does, including the adjustment to the context time zone, but parses the
+ * RFC 3339 form with {@link RFC3339DateTimeFormat} from the parser's buffer.
+ * <p>
+ * Timestamps, the other forms {@code ISO_OFFSET_DATE_TIME} accepts, invalid
+ * dates and {@code @JsonFormat} on a property are left to the Java time
+ * module, so they are read or rejected exactly as before.
+ */
+public class OffsetDateTimeJsonDeserializer
+  extends StdScalarDeserializer<OffsetDateTime>
+  implements ContextualDeserializer {
+
+  private static final long serialVersionUID = 1L;
+
+  public OffsetDateTimeJsonDeserializer() {
+    super(OffsetDateTime.class);
+  }
+
+  @Override
+  public JsonDeserializer<?> createContextual(
+    DeserializationContext ctxt,
+    BeanProperty property
+  ) throws JsonMappingException {
+    JsonFormat.Value format = findFormatOverrides(
+      ctxt,
+      property,
+      handledType()
+    );
+    if (format != null && !format.equals(JsonFormat.Value.empty())) {
+      return InstantDeserializer.OFFSET_DATE_TIME.createContextual(
+        ctxt,
+        property
+      );
+    }
+    return this;
+  }
+
+  @Override
+  public OffsetDateTime deserialize(JsonParser p, DeserializationContext ctxt)
+    throws IOException {
+    if (p.hasToken(JsonToken.VALUE_STRING)) {
+      OffsetDateTime value = RFC3339DateTimeFormat.parse(
+        p.getTextCharacters(),
+        p.getTextOffset(),
+        p.getTextLength()
+      );
+      if (value != null) {
+        if (
+          !ctxt.isEnabled(
+            DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE
+          )
+        ) {
+          return value;
+        }
+        ZoneId zone = ctxt.getTimeZone().toZoneId();
+        return value.withOffsetSameInstant(
+          zone.getRules().getOffset(value.toLocalDateTime())
+        );
+      }
+    }
+    return InstantDeserializer.OFFSET_DATE_TIME.deserialize(p, ctxt);
+  }
+}
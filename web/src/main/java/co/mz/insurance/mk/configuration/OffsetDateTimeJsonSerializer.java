@@ -0,0 +1,71 @@
+package co.mz.insurance.mk.configuration;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+/**
+ * Writes an {@link OffsetDateTime} exactly as the Java time module does with
+ * {@code write-dates-as-timestamps: false}, that is in
+ * {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME} form, but
+ * through {@link RFC3339DateTimeFormat}, from its cache of values already
+ * encoded when the value was written recently.
+ * <p>
+ * Timestamps, an explicit {@code spring.jackson.time-zone}, {@code @JsonFormat}
+ * on a property and years outside 0000-9999 are left to the Java time module.
+ */
+public class OffsetDateTimeJsonSerializer
+  extends StdSerializer<OffsetDateTime>
+  implements ContextualSerializer {
+
+  private static final long serialVersionUID = 1L;
+
+  public OffsetDateTimeJsonSerializer() {
+    super(OffsetDateTime.class);
+  }
+
+  @Override
+  public JsonSerializer<?> createContextual(
+    SerializerProvider provider,
+    BeanProperty property
+  ) throws JsonMappingException {
+    JsonFormat.Value format = findFormatOverrides(
+      provider,
+      property,
+      handledType()
+    );
+    if (format != null && !format.equals(JsonFormat.Value.empty())) {
+      return OffsetDateTimeSerializer.INSTANCE.createContextual(
+        provider,
+        property
+      );
+    }
+    return this;
+  }
+
+  @Override
+  public void serialize(
+    OffsetDateTime value,
+    JsonGenerator gen,
+    SerializerProvider provider
+  ) throws IOException {
+    if (
+      !RFC3339DateTimeFormat.isSupported(value) ||
+      provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) ||
+      provider.getConfig().hasExplicitTimeZone()
+    ) {
+      OffsetDateTimeSerializer.INSTANCE.serialize(value, gen, provider);
+      return;
+    }
+    gen.writeString(RFC3339DateTimeFormat.format(value));
+  }
+}
@@ -3,27 +3,66 @@ package co.mz.insurance.mk.configuration;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import java.text.DateFormat;
 import java.text.FieldPosition;
+import java.text.ParseException;
 import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
+/**
+ * The {@code spring.jackson.date-format}, for {@link Date} values: written
+ * in UTC as {@code yyyy-MM-ddTHH:mm:ss.SSS+00:00} and read from RFC 3339, as
+ * Jackson's {@link StdDateFormat} does.
+ * <p>
+ * Jackson clones a date format before each use as {@link DateFormat} is not
+ * thread-safe. This one keeps no state: dates are formatted and parsed with
+ * {@link RFC3339DateTimeFormat}, so {@link #clone} returns the shared
+ * instance. Dates before the Gregorian calendar, which {@link StdDateFormat}
+ * handles in the Julian one, and any other form it accepts go to a new
+ * {@link StdDateFormat} each time, as do offsets with seconds, which it
+ * does not accept. {@link #setTimeZone} and the other inherited setters have
+ * no effect.
+ */
 public class RFC3339DateFormat extends DateFormat {
 
   private static final long serialVersionUID = 1L;
   private static final TimeZone TIMEZONE_Z = TimeZone.getTimeZone("UTC");
 
-  private final StdDateFormat fmt = new StdDateFormat()
-    .withTimeZone(TIMEZONE_Z)
-    .withColonInTimeZone(true);
+  /**
+   * First year fully in the Gregorian calendar.
+   */
+  private static final int MIN_YEAR = 1583;
 
   public RFC3339DateFormat() {
-    this.calendar = new GregorianCalendar();
+    this.calendar = new GregorianCalendar(TIMEZONE_Z);
   }
 
   @Override
   public Date parse(String source, ParsePosition pos) {
-    return fmt.parse(source, pos);
+    String text = source.substring(pos.getIndex());
+    OffsetDateTime value = RFC3339DateTimeFormat.parse(text);
+    if (
+      value == null ||
+      value.getYear() < MIN_YEAR ||
+      value.getOffset().getTotalSeconds() % 60 != 0
+    ) {
+      // Not StdDateFormat.parse(String, ParsePosition), which leaves the
+      // position as it was, so DateFormat.parse(String) takes it for a
+      // failure
+      try {
+        Date date = stdDateFormat().parse(text);
+        pos.setIndex(source.length());
+        return date;
+      } catch (ParseException e) {
+        pos.setErrorIndex(pos.getIndex());
+        return null;
+      }
+    }
+    pos.setIndex(source.length());
+    return Date.from(value.toInstant());
   }
 
   @Override
@@ -32,11 +71,34 @@ public class RFC3339DateFormat extends DateFormat {
     StringBuffer toAppendTo,
     FieldPosition fieldPosition
   ) {
-    return fmt.format(date, toAppendTo, fieldPosition);
+    OffsetDateTime value = Instant
+      .ofEpochMilli(date.getTime())
+      .atOffset(ZoneOffset.UTC);
+    if (value.getYear() < MIN_YEAR || value.getYear() > 9999) {
+      return stdDateFormat().format(date, toAppendTo, fieldPosition);
+    }
+    char[] buffer = new char[29];
+    int pos = RFC3339DateTimeFormat.formatLocalDateTime(value, buffer);
+    buffer[pos++] = '.';
+    pos =
+      RFC3339DateTimeFormat.digits(
+        value.getNano() / 1_000_000,
+        3,
+        buffer,
+        pos
+      );
+    "+00:00".getChars(0, 6, buffer, pos);
+    return toAppendTo.append(buffer, 0, pos + 6);
   }
 
   @Override
   public Object clone() {
     return this;
   }
+
+  private static StdDateFormat stdDateFormat() {
+    return new StdDateFormat()
+      .withTimeZone(TIMEZONE_Z)
+      .withColonInTimeZone(true);
+  }
 }
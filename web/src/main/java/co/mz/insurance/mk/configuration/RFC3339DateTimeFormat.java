@@ -0,0 +1,250 @@
+package co.mz.insurance.mk.configuration;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * RFC 3339 formatting and parsing of {@link OffsetDateTime}, exactly as
+ * {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME} does for
+ * years 0000-9999, without a formatter, a parsed-field map or intermediate
+ * Strings.
+ * <p>
+ * The class has no state other than the cache of formatted values, which is
+ * safe to share between threads without locking: it is a fixed array of
+ * immutable entries, so a racing thread sees either a complete entry or none
+ * and at worst formats a value again. As the due and completed dates of the
+ * items served repeatedly are the same values, most are written from the
+ * cache, already encoded to UTF-8.
+ */
+public final class RFC3339DateTimeFormat {
+
+  /**
+   * Longest form, {@code yyyy-MM-ddTHH:mm:ss.nnnnnnnnn+HH:mm:ss}.
+   */
+  static final int MAX_LENGTH = 38;
+
+  private static final int CACHE_SIZE = 4096;
+
+  private static final Entry[] CACHE = new Entry[CACHE_SIZE];
+
+  private RFC3339DateTimeFormat() {}
+
+  /**
+   * Whether {@link #format} and {@link #formatTo} handle the value, that is
+   * whether its year is in 0000-9999.
+   */
+  public static boolean isSupported(OffsetDateTime value) {
+    int year = value.getYear();
+    return year >= 0 && year <= 9999;
+  }
+
+  /**
+   * The formatted value, from the cache when it was formatted recently.
+   *
+   * @throws IllegalArgumentException if the value is not
+   * {@link #isSupported supported}
+   */
+  public static SerializedString format(OffsetDateTime value) {
+    int hash = value.hashCode();
+    int index = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+    Entry entry = CACHE[index];
+    if (entry != null && entry.value.equals(value)) {
+      return entry.formatted;
+    }
+    if (!isSupported(value)) {
+      throw new IllegalArgumentException("Year out of range: " + value);
+    }
+    char[] buffer = new char[MAX_LENGTH];
+    int length = formatTo(value, buffer);
+    entry =
+      new Entry(value, new SerializedString(new String(buffer, 0, length)));
+    CACHE[index] = entry;
+    return entry.formatted;
+  }
+
+  /**
+   * Format a {@link #isSupported supported} value the way
+   * {@code ISO_OFFSET_DATE_TIME} does: seconds always, the fraction only when
+   * not zero and without trailing zeros, and the offset as its id.
+   *
+   * @param buffer at least {@value #MAX_LENGTH} characters
+   * @return the number of characters written
+   */
+  public static int formatTo(OffsetDateTime value, char[] buffer) {
+    int pos = formatLocalDateTime(value, buffer);
+    int nano = value.getNano();
+    if (nano != 0) {
+      int width = 9;
+      while (nano % 10 == 0) {
+        nano /= 10;
+        width--;
+      }
+      buffer[pos++] = '.';
+      pos = digits(nano, width, buffer, pos);
+    }
+    String offset = value.getOffset().getId();
+    offset.getChars(0, offset.length(), buffer, pos);
+    return pos + offset.length();
+  }
+
+  /**
+   * Parse {@code yyyy-MM-ddTHH:mm:ss[.f](Z|+HH:mm[:ss])}, with 1 to 9
+   * fraction digits, into the value {@code ISO_OFFSET_DATE_TIME} parses it
+   * to.
+   *
+   * @return the value, or {@code null} when the text is not in that exact
+   * form or is not a valid date, in which case {@code ISO_OFFSET_DATE_TIME}
+   * either accepts one of its other forms or rejects it
+   */
+  public static OffsetDateTime parse(char[] text, int offset, int length) {
+    int end = offset + length;
+    if (
+      length < 20 ||
+      text[offset + 4] != '-' ||
+      text[offset + 7] != '-' ||
+      text[offset + 10] != 'T' ||
+      text[offset + 13] != ':' ||
+      text[offset + 16] != ':'
+    ) {
+      return null;
+    }
+    int year = number(text, offset, 4);
+    int month = number(text, offset + 5, 2);
+    int day = number(text, offset + 8, 2);
+    int hour = number(text, offset + 11, 2);
+    int minute = number(text, offset + 14, 2);
+    int second = number(text, offset + 17, 2);
+    if ((year | month | day | hour | minute | second) < 0) {
+      return null;
+    }
+    int pos = offset + 19;
+    int nano = 0;
+    if (text[pos] == '.') {
+      int start = ++pos;
+      while (pos < end && pos - start < 9 && isDigit(text[pos])) {
+        nano = nano * 10 + (text[pos++] - '0');
+      }
+      if (pos == start || (pos < end && isDigit(text[pos]))) {
+        return null;
+      }
+      for (int i = pos - start; i < 9; i++) {
+        nano *= 10;
+      }
+    }
+    ZoneOffset zoneOffset = parseOffset(text, pos, end - pos);
+    if (zoneOffset == null) {
+      return null;
+    }
+    try {
+      return OffsetDateTime.of(
+        year,
+        month,
+        day,
+        hour,
+        minute,
+        second,
+        nano,
+        zoneOffset
+      );
+    } catch (DateTimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Like {@link #parse(char[], int, int)}.
+   */
+  public static OffsetDateTime parse(String text) {
+    return parse(text.toCharArray(), 0, text.length());
+  }
+
+  /**
+   * Write {@code yyyy-MM-ddTHH:mm:ss}.
+   *
+   * @return the number of characters written
+   */
+  static int formatLocalDateTime(OffsetDateTime value, char[] buffer) {
+    int pos = 0;
+    pos = digits(value.getYear(), 4, buffer, pos);
+    buffer[pos++] = '-';
+    pos = digits(value.getMonthValue(), 2, buffer, pos);
+    buffer[pos++] = '-';
+    pos = digits(value.getDayOfMonth(), 2, buffer, pos);
+    buffer[pos++] = 'T';
+    pos = digits(value.getHour(), 2, buffer, pos);
+    buffer[pos++] = ':';
+    pos = digits(value.getMinute(), 2, buffer, pos);
+    buffer[pos++] = ':';
+    return digits(value.getSecond(), 2, buffer, pos);
+  }
+
+  static int digits(int value, int width, char[] buffer, int pos) {
+    for (int i = pos + width - 1; i >= pos; i--) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return pos + width;
+  }
+
+  private static ZoneOffset parseOffset(char[] text, int pos, int length) {
+    if (length == 1 && text[pos] == 'Z') {
+      return ZoneOffset.UTC;
+    }
+    if (
+      (length != 6 && length != 9) ||
+      (text[pos] != '+' && text[pos] != '-') ||
+      text[pos + 3] != ':' ||
+      (length == 9 && text[pos + 6] != ':')
+    ) {
+      return null;
+    }
+    int hours = number(text, pos + 1, 2);
+    int minutes = number(text, pos + 4, 2);
+    int seconds = length == 9 ? number(text, pos + 7, 2) : 0;
+    if ((hours | minutes | seconds) < 0 || minutes > 59 || seconds > 59) {
+      return null;
+    }
+    int sign = text[pos] == '-' ? -1 : 1;
+    try {
+      return ZoneOffset.ofHoursMinutesSeconds(
+        sign * hours,
+        sign * minutes,
+        sign * seconds
+      );
+    } catch (DateTimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * The value of {@code width} digits, or -1 if one of them is not a digit.
+   */
+  private static int number(char[] text, int pos, int width) {
+    int value = 0;
+    for (int i = pos; i < pos + width; i++) {
+      if (!isDigit(text[i])) {
+        return -1;
+      }
+      value = value * 10 + (text[i] - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static final class Entry {
+
+    private final OffsetDateTime value;
+
+    private final SerializedString formatted;
+
+    Entry(OffsetDateTime value, SerializedString formatted) {
+      this.value = value;
+      this.formatted = formatted;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package co.mz.insurance.mk.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Per-request repository and SQL statement counts, on top of the
+ * {@code http.server.requests} and {@code spring.data.repository.invocations}
+ * timers Spring Boot already records.
+ */
+@Configuration
+@Profile("!reactive")
+public class RequestMetricsConfiguration {
+
+  @Bean
+  public OncePerRequestFilter requestStatisticsFilter(
+    MeterRegistry registry,
+    @Value(
+      "${todo.metrics.slow-request-threshold}"
+    ) Duration slowRequestThreshold
+  ) {
+    return new RequestStatisticsFilter(registry, slowRequestThreshold);
+  }
+
+  /**
+   * Count every Spring Data repository invocation against the current
+   * request. Static, so repository factories are still post-processed.
+   */
+  @Bean
+  public static BeanPostProcessor requestRepositoryCallCounter() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(
+        Object bean,
+        String beanName
+      ) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+          ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(
+              factory ->
+                factory.addInvocationListener(invocation ->
+                  RequestStatistics.repositoryCall()
+                )
+            );
+        }
+        return bean;
+      }
+    };
+  }
+}
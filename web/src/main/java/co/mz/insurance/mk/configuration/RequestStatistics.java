@@ -0,0 +1,67 @@
+package co.mz.insurance.mk.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Repository calls and SQL statements issued by the request being handled on
+ * the current thread. Work handed off to other threads, such as streamed
+ * responses, is not attributed to the request.
+ */
+final class RequestStatistics {
+
+  /**
+   * Statements kept for the slow-request log; later ones are only counted.
+   */
+  private static final int MAX_RECORDED_STATEMENTS = 50;
+
+  private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+  private int repositoryCalls;
+
+  private int statements;
+
+  private final List<String> recordedStatements = new ArrayList<>();
+
+  private RequestStatistics() {}
+
+  static RequestStatistics begin() {
+    RequestStatistics statistics = new RequestStatistics();
+    CURRENT.set(statistics);
+    return statistics;
+  }
+
+  static void end() {
+    CURRENT.remove();
+  }
+
+  static void repositoryCall() {
+    RequestStatistics statistics = CURRENT.get();
+    if (statistics != null) {
+      statistics.repositoryCalls++;
+    }
+  }
+
+  static void statement(String sql) {
+    RequestStatistics statistics = CURRENT.get();
+    if (statistics != null) {
+      statistics.statements++;
+      if (statistics.recordedStatements.size() < MAX_RECORDED_STATEMENTS) {
+        statistics.recordedStatements.add(sql);
+      }
+    }
+  }
+
+  int getRepositoryCalls() {
+    return repositoryCalls;
+  }
+
+  int getStatements() {
+    return statements;
+  }
+
+  List<String> getRecordedStatements() {
+    return Collections.unmodifiableList(recordedStatements);
+  }
+}
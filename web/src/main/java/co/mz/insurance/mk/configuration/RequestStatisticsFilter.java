@@ -0,0 +1,97 @@
+package co.mz.insurance.mk.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many repository calls and SQL statements each request makes,
+ * tagged like {@code http.server.requests}, and logs the SQL of requests
+ * slower than the configured threshold.
+ */
+class RequestStatisticsFilter extends OncePerRequestFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    RequestStatisticsFilter.class
+  );
+
+  private final MeterRegistry registry;
+
+  private final long slowRequestThresholdNanos;
+
+  RequestStatisticsFilter(
+    MeterRegistry registry,
+    Duration slowRequestThreshold
+  ) {
+    this.registry = registry;
+    this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+  }
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain filterChain
+  ) throws ServletException, IOException {
+    RequestStatistics statistics = RequestStatistics.begin();
+    long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      RequestStatistics.end();
+      record(request, statistics);
+      if (elapsed >= slowRequestThresholdNanos) {
+        log.warn(
+          "Slow request {} {} took {} ms, {} repository calls, {} SQL statements:\n{}",
+          request.getMethod(),
+          request.getRequestURI(),
+          TimeUnit.NANOSECONDS.toMillis(elapsed),
+          statistics.getRepositoryCalls(),
+          statistics.getStatements(),
+          String.join("\n", statistics.getRecordedStatements())
+        );
+      }
+    }
+  }
+
+  private void record(
+    HttpServletRequest request,
+    RequestStatistics statistics
+  ) {
+    Object pattern = request.getAttribute(
+      HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE
+    );
+    Tags tags = Tags.of(
+      "method",
+      request.getMethod(),
+      "uri",
+      pattern == null ? "UNKNOWN" : pattern.toString()
+    );
+    DistributionSummary
+      .builder("todo.request.repository.calls")
+      .description("Repository method calls made by a request")
+      .baseUnit("calls")
+      .tags(tags)
+      .register(registry)
+      .record(statistics.getRepositoryCalls());
+    DistributionSummary
+      .builder("todo.request.sql.statements")
+      .description("SQL statements prepared by Hibernate for a request")
+      .baseUnit("statements")
+      .tags(tags)
+      .register(registry)
+      .record(statistics.getStatements());
+  }
+}
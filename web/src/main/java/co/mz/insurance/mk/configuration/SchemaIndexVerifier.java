@@ -0,0 +1,140 @@
+package co.mz.insurance.mk.configuration;
+
+import co.mz.insurance.mk.model.TodoItem;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks at startup that the indexes declared with {@link Table#indexes()}
+ * on the entities exist in the database, and logs the missing ones. Turned
+ * off with {@code todo.schema.verify-indexes=false}.
+ */
+@Component
+@ConditionalOnProperty(
+  name = "todo.schema.verify-indexes",
+  havingValue = "true",
+  matchIfMissing = true
+)
+public class SchemaIndexVerifier {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    SchemaIndexVerifier.class
+  );
+
+  private static final List<Class<?>> ENTITIES = List.of(TodoItem.class);
+
+  private final DataSource dataSource;
+
+  public SchemaIndexVerifier(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void verify() {
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      for (Class<?> entity : ENTITIES) {
+        for (String missing : findMissingIndexes(metaData, entity)) {
+          log.warn("Missing index {} on {}", missing, tableName(entity));
+        }
+      }
+    } catch (SQLException e) {
+      log.warn("Unable to verify the database indexes", e);
+    }
+  }
+
+  List<String> findMissingIndexes(DatabaseMetaData metaData, Class<?> entity)
+    throws SQLException {
+    Table table = entity.getAnnotation(Table.class);
+    if (table == null) {
+      return List.of();
+    }
+    Set<List<String>> existing = existingIndexes(
+      metaData,
+      identifier(metaData, tableName(entity))
+    );
+    List<String> missing = new ArrayList<>();
+    for (Index index : table.indexes()) {
+      List<String> columns = Arrays
+        .stream(index.columnList().split(","))
+        .map(String::trim)
+        .map(SchemaIndexVerifier::columnName)
+        .collect(Collectors.toList());
+      if (!existing.contains(columns)) {
+        missing.add(index.name() + " " + columns);
+      }
+    }
+    return missing;
+  }
+
+  private static Set<List<String>> existingIndexes(
+    DatabaseMetaData metaData,
+    String table
+  ) throws SQLException {
+    Map<String, Map<Short, String>> indexes = new TreeMap<>();
+    try (
+      ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)
+    ) {
+      while (rs.next()) {
+        String name = rs.getString("INDEX_NAME");
+        String column = rs.getString("COLUMN_NAME");
+        if (name == null || column == null) {
+          continue;
+        }
+        indexes
+          .computeIfAbsent(name, n -> new TreeMap<>())
+          .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+      }
+    }
+    Set<List<String>> columnLists = new HashSet<>();
+    for (Map<Short, String> columns : indexes.values()) {
+      columnLists.add(new ArrayList<>(columns.values()));
+    }
+    return columnLists;
+  }
+
+  private static String tableName(Class<?> entity) {
+    Table table = entity.getAnnotation(Table.class);
+    if (table != null && !table.name().isEmpty()) {
+      return table.name();
+    }
+    return columnName(entity.getSimpleName());
+  }
+
+  /**
+   * Apply the same camel case to snake case mapping as Spring's default
+   * physical naming strategy.
+   */
+  private static String columnName(String logicalName) {
+    return logicalName
+      .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+      .toLowerCase(Locale.ROOT);
+  }
+
+  private static String identifier(DatabaseMetaData metaData, String name)
+    throws SQLException {
+    return metaData.storesUpperCaseIdentifiers()
+      ? name.toUpperCase(Locale.ROOT)
+      : name;
+  }
+}
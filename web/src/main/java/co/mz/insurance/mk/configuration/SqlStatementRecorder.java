@@ -0,0 +1,18 @@
+package co.mz.insurance.mk.configuration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL Hibernate prepares for the current request and keeps it for
+ * the slow-request log. Registered through
+ * {@code hibernate.session_factory.statement_inspector}, so it must keep a
+ * public no-arg constructor.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+  @Override
+  public String inspect(String sql) {
+    RequestStatistics.statement(sql);
+    return sql;
+  }
+}
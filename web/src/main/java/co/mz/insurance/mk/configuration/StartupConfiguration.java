@@ -0,0 +1,85 @@
+package co.mz.insurance.mk.configuration;
+
+import co.mz.insurance.mk.service.TodoOutbox;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import javax.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Start-up tuning used by the {@code fast-startup} profile.
+ * <p>
+ * With {@code spring.main.lazy-initialization=true} most beans are only
+ * created when first used, but the schema migration, the JPA bootstrap and
+ * the scheduled jobs stay eager: deferring them would only move their cost
+ * to the first request, or never run them.
+ */
+@Configuration
+public class StartupConfiguration {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    StartupConfiguration.class
+  );
+
+  @Bean
+  public static LazyInitializationExcludeFilter eagerInfrastructure() {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+      Flyway.class,
+      FlywayMigrationInitializer.class,
+      EntityManagerFactory.class,
+      AbstractEntityManagerFactoryBean.class,
+      CounterReconciliationConfiguration.class,
+      TodoOutbox.class
+    );
+  }
+
+  /**
+   * Training run for the class-data-sharing archive built into the image:
+   * once started, serve one request so the classes it needs are archived
+   * too, then exit. Enabled with {@code todo.startup.exit-on-ready=true}.
+   */
+  @Bean
+  @ConditionalOnProperty(
+    name = "todo.startup.exit-on-ready",
+    havingValue = "true"
+  )
+  public ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+    return event -> {
+      String port = event
+        .getApplicationContext()
+        .getEnvironment()
+        .getProperty("local.server.port");
+      if (port != null) {
+        try {
+          HttpClient
+            .newHttpClient()
+            .send(
+              HttpRequest
+                .newBuilder(URI.create("http://localhost:" + port + "/lists"))
+                .build(),
+              HttpResponse.BodyHandlers.discarding()
+            );
+        } catch (IOException e) {
+          log.warn("Training request failed", e);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      System.exit(SpringApplication.exit(event.getApplicationContext()));
+    };
+  }
+}
@@ -0,0 +1,75 @@
+package co.mz.insurance.mk.configuration;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Opt-in mode running servlet requests, and the repository calls they make,
+ * on virtual threads instead of Tomcat's platform thread pool. Enabled with
+ * {@code todo.threads.virtual=true}; it falls back to platform threads with
+ * a warning on a JDK without virtual threads.
+ * <p>
+ * Request concurrency is then no longer bounded by the thread pool, so the
+ * JDBC pool, sized with {@code spring.datasource.hikari.maximum-pool-size},
+ * becomes the only limit on concurrent database work.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfiguration {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    VirtualThreadsConfiguration.class
+  );
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+    return protocolHandler ->
+      newVirtualThreadPerTaskExecutor().ifPresent(protocolHandler::setExecutor);
+  }
+
+  /**
+   * Also run asynchronous request processing, such as streamed responses, on
+   * virtual threads.
+   */
+  @Bean
+  public WebMvcConfigurer virtualThreadsAsyncConfigurer() {
+    return new WebMvcConfigurer() {
+      @Override
+      public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        newVirtualThreadPerTaskExecutor()
+          .ifPresent(executor ->
+            configurer.setTaskExecutor(new TaskExecutorAdapter(executor))
+          );
+      }
+    };
+  }
+
+  /**
+   * Looked up reflectively, so the application still builds for Java 17.
+   */
+  static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+    try {
+      Method factory = Executors.class.getMethod(
+        "newVirtualThreadPerTaskExecutor"
+      );
+      return Optional.of((ExecutorService) factory.invoke(null));
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      log.warn(
+        "Virtual threads are not available on Java {}, using platform threads",
+        Runtime.version().feature()
+      );
+      return Optional.empty();
+    }
+  }
+}
@@ -2,13 +2,23 @@ package co.mz.insurance.mk.configuration;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfiguration {
 
+  private static final String[] EXPOSED_HEADERS = {
+    "ETag",
+    "Location",
+    "X-Continuation-Token",
+    "X-Updated-Count",
+  };
+
   @Bean
+  @Profile("!reactive")
   public WebMvcConfigurer webConfigurer() {
     return new WebMvcConfigurer() {
       @Override
@@ -17,7 +27,26 @@ public class WebConfiguration {
           .addMapping("/**")
           .allowedOrigins("*")
           .allowedMethods("*")
-          .allowedHeaders("*");
+          .allowedHeaders("*")
+          .exposedHeaders(EXPOSED_HEADERS);
+      }
+    };
+  }
+
+  @Bean
+  @Profile("reactive")
+  public WebFluxConfigurer reactiveWebConfigurer() {
+    return new WebFluxConfigurer() {
+      @Override
+      public void addCorsMappings(
+        org.springframework.web.reactive.config.CorsRegistry registry
+      ) {
+        registry
+          .addMapping("/**")
+          .allowedOrigins("*")
+          .allowedMethods("*")
+          .allowedHeaders("*")
+          .exposedHeaders(EXPOSED_HEADERS);
       }
     };
   }
@@ -0,0 +1,51 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes a {@code Long} identifier as a JSON string, producing the same
+ * output as {@code ToStringSerializer} but formatting the digits into a
+ * reused buffer instead of allocating a String per value.
+ */
+public class IdSerializer extends StdSerializer<Long> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Room for the 19 digits and the sign of any long.
+   */
+  private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(
+    () -> new char[20]
+  );
+
+  public IdSerializer() {
+    super(Long.class);
+  }
+
+  @Override
+  public void serialize(
+    Long value,
+    JsonGenerator gen,
+    SerializerProvider provider
+  ) throws IOException {
+    long id = value;
+    if (id == Long.MIN_VALUE) {
+      gen.writeString(Long.toString(id));
+      return;
+    }
+    char[] buffer = BUFFER.get();
+    int start = buffer.length;
+    long remaining = Math.abs(id);
+    do {
+      buffer[--start] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining != 0);
+    if (id < 0) {
+      buffer[--start] = '-';
+    }
+    gen.writeString(buffer, start, buffer.length - start);
+  }
+}
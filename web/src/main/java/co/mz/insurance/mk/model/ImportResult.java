@@ -0,0 +1,134 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of a bulk import: how many rows were stored and why the others
+ * were rejected
+ */
+
+public class ImportResult {
+
+  @JsonProperty("imported")
+  private long imported;
+
+  @JsonProperty("failed")
+  private long failed;
+
+  @JsonProperty("errors")
+  private List<RowError> errors = new ArrayList<>();
+
+  /**
+   * Get imported
+   * @return imported
+   */
+  public long getImported() {
+    return imported;
+  }
+
+  public void setImported(long imported) {
+    this.imported = imported;
+  }
+
+  /**
+   * Get failed
+   * @return failed
+   */
+  public long getFailed() {
+    return failed;
+  }
+
+  public void setFailed(long failed) {
+    this.failed = failed;
+  }
+
+  /**
+   * Get errors
+   * @return errors
+   */
+  public List<RowError> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<RowError> errors) {
+    this.errors = errors;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ImportResult importResult = (ImportResult) o;
+    return (
+      this.imported == importResult.imported &&
+      this.failed == importResult.failed &&
+      Objects.equals(this.errors, importResult.errors)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(imported, failed, errors);
+  }
+
+  /**
+   * A rejected row, identified by its line number in the request body
+   */
+  public static class RowError {
+
+    @JsonProperty("line")
+    private long line;
+
+    @JsonProperty("message")
+    private String message;
+
+    public RowError() {}
+
+    public RowError(long line, String message) {
+      this.line = line;
+      this.message = message;
+    }
+
+    public long getLine() {
+      return line;
+    }
+
+    public void setLine(long line) {
+      this.line = line;
+    }
+
+    public String getMessage() {
+      return message;
+    }
+
+    public void setMessage(String message) {
+      this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RowError rowError = (RowError) o;
+      return (
+        this.line == rowError.line && Objects.equals(this.message, rowError.message)
+      );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(line, message);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+/**
+ * One operation of a batch: a create, update or delete of a Todo list, or
+ * of a Todo item when {@code itemId} or {@code item} is given
+ */
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoBatchOperation {
+
+  public static final String CREATE = "create";
+
+  public static final String UPDATE = "update";
+
+  public static final String DELETE = "delete";
+
+  /**
+   * Prefix of a {@code listId} that refers to the list created by an earlier
+   * operation of the same batch, followed by that operation's index.
+   */
+  public static final String REFERENCE_PREFIX = "$";
+
+  @JsonProperty("op")
+  private String op;
+
+  @JsonProperty("listId")
+  private String listId;
+
+  @JsonProperty("itemId")
+  private String itemId;
+
+  @JsonProperty("ifMatch")
+  private String ifMatch;
+
+  @JsonProperty("list")
+  private TodoList list;
+
+  @JsonProperty("item")
+  private TodoItem item;
+
+  public TodoBatchOperation op(String op) {
+    this.op = op;
+    return this;
+  }
+
+  /**
+   * The operation to run: create, update or delete
+   * @return op
+   */
+  public String getOp() {
+    return op;
+  }
+
+  public void setOp(String op) {
+    this.op = op;
+  }
+
+  public TodoBatchOperation listId(String listId) {
+    this.listId = listId;
+    return this;
+  }
+
+  /**
+   * The Todo list unique identifier, or {@code $n} for the list created by
+   * operation n
+   * @return listId
+   */
+  public String getListId() {
+    return listId;
+  }
+
+  public void setListId(String listId) {
+    this.listId = listId;
+  }
+
+  public TodoBatchOperation itemId(String itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  /**
+   * The Todo item unique identifier, for item updates and deletes
+   * @return itemId
+   */
+  public String getItemId() {
+    return itemId;
+  }
+
+  public void setItemId(String itemId) {
+    this.itemId = itemId;
+  }
+
+  public TodoBatchOperation ifMatch(String ifMatch) {
+    this.ifMatch = ifMatch;
+    return this;
+  }
+
+  /**
+   * The entity tag the update or delete is based on
+   * @return ifMatch
+   */
+  public String getIfMatch() {
+    return ifMatch;
+  }
+
+  public void setIfMatch(String ifMatch) {
+    this.ifMatch = ifMatch;
+  }
+
+  public TodoBatchOperation list(TodoList list) {
+    this.list = list;
+    return this;
+  }
+
+  /**
+   * The Todo list to create, or its new values
+   * @return list
+   */
+  public TodoList getList() {
+    return list;
+  }
+
+  public void setList(TodoList list) {
+    this.list = list;
+  }
+
+  public TodoBatchOperation item(TodoItem item) {
+    this.item = item;
+    return this;
+  }
+
+  /**
+   * The Todo item to create, or its new values
+   * @return item
+   */
+  public TodoItem getItem() {
+    return item;
+  }
+
+  public void setItem(TodoItem item) {
+    this.item = item;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TodoBatchOperation todoBatchOperation = (TodoBatchOperation) o;
+    return (
+      Objects.equals(this.op, todoBatchOperation.op) &&
+      Objects.equals(this.listId, todoBatchOperation.listId) &&
+      Objects.equals(this.itemId, todoBatchOperation.itemId) &&
+      Objects.equals(this.ifMatch, todoBatchOperation.ifMatch) &&
+      Objects.equals(this.list, todoBatchOperation.list) &&
+      Objects.equals(this.item, todoBatchOperation.item)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(op, listId, itemId, ifMatch, list, item);
+  }
+}
@@ -0,0 +1,180 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Objects;
+
+/**
+ * Outcome of one operation of a batch
+ */
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoBatchResult {
+
+  @JsonProperty("index")
+  private int index;
+
+  @JsonProperty("status")
+  private int status;
+
+  @JsonProperty("id")
+  @JsonSerialize(using = IdSerializer.class)
+  private Long id;
+
+  @JsonProperty("etag")
+  private String etag;
+
+  @JsonProperty("message")
+  private String message;
+
+  @JsonProperty("list")
+  private TodoList list;
+
+  @JsonProperty("item")
+  private TodoItem item;
+
+  public TodoBatchResult index(int index) {
+    this.index = index;
+    return this;
+  }
+
+  /**
+   * Position of the operation in the batch
+   * @return index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public TodoBatchResult status(int status) {
+    this.status = status;
+    return this;
+  }
+
+  /**
+   * The HTTP status the operation would have on its own
+   * @return status
+   */
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  public TodoBatchResult id(Long id) {
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * Identifier of the created, updated or deleted entity
+   * @return id
+   */
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public TodoBatchResult etag(String etag) {
+    this.etag = etag;
+    return this;
+  }
+
+  /**
+   * Entity tag of the created or updated entity
+   * @return etag
+   */
+  public String getEtag() {
+    return etag;
+  }
+
+  public void setEtag(String etag) {
+    this.etag = etag;
+  }
+
+  public TodoBatchResult message(String message) {
+    this.message = message;
+    return this;
+  }
+
+  /**
+   * Why the operation was rejected
+   * @return message
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public TodoBatchResult list(TodoList list) {
+    this.list = list;
+    return this;
+  }
+
+  /**
+   * The created or updated Todo list
+   * @return list
+   */
+  public TodoList getList() {
+    return list;
+  }
+
+  public void setList(TodoList list) {
+    this.list = list;
+  }
+
+  public TodoBatchResult item(TodoItem item) {
+    this.item = item;
+    return this;
+  }
+
+  /**
+   * The created or updated Todo item
+   * @return item
+   */
+  public TodoItem getItem() {
+    return item;
+  }
+
+  public void setItem(TodoItem item) {
+    this.item = item;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TodoBatchResult todoBatchResult = (TodoBatchResult) o;
+    return (
+      this.index == todoBatchResult.index &&
+      this.status == todoBatchResult.status &&
+      Objects.equals(this.id, todoBatchResult.id) &&
+      Objects.equals(this.etag, todoBatchResult.etag) &&
+      Objects.equals(this.message, todoBatchResult.message) &&
+      Objects.equals(this.list, todoBatchResult.list) &&
+      Objects.equals(this.item, todoBatchResult.item)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(index, status, id, etag, message, list, item);
+  }
+}
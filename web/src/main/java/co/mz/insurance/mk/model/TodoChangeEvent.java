@@ -0,0 +1,226 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A change to a Todo list or its items, as recorded in the outbox and sent
+ * on the change feed
+ */
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoChangeEvent {
+
+  public static final String LIST_CREATED = "list-created";
+
+  public static final String LIST_UPDATED = "list-updated";
+
+  public static final String LIST_DELETED = "list-deleted";
+
+  public static final String ITEM_CREATED = "item-created";
+
+  public static final String ITEM_UPDATED = "item-updated";
+
+  public static final String ITEM_DELETED = "item-deleted";
+
+  public static final String ITEMS_STATE_CHANGED = "items-state-changed";
+
+  /**
+   * Sent instead of the missed changes when a client resumes from an event
+   * that is no longer buffered; the client should reload.
+   */
+  public static final String RESET = "reset";
+
+
+  @JsonProperty("id")
+  private long id;
+
+  @JsonProperty("type")
+  private String type;
+
+  @JsonProperty("listId")
+  @JsonSerialize(using = IdSerializer.class)
+  private Long listId;
+
+  @JsonProperty("itemId")
+  @JsonSerialize(using = IdSerializer.class)
+  private Long itemId;
+
+  @JsonProperty("itemIds")
+  private List<String> itemIds;
+
+  @JsonProperty("state")
+  private TodoState state;
+
+  @JsonProperty("item")
+  private TodoItem item;
+
+  @JsonProperty("list")
+  private TodoList list;
+
+  public TodoChangeEvent id(long id) {
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * Sequence number of the change in the change feed, sent with the feed's
+   * epoch as the SSE event id
+   * @return id
+   */
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  public TodoChangeEvent type(String type) {
+    this.type = type;
+    return this;
+  }
+
+  /**
+   * Kind of change, also the SSE event name
+   * @return type
+   */
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public TodoChangeEvent listId(Long listId) {
+    this.listId = listId;
+    return this;
+  }
+
+  /**
+   * Todo list the change belongs to
+   * @return listId
+   */
+  public Long getListId() {
+    return listId;
+  }
+
+  public void setListId(Long listId) {
+    this.listId = listId;
+  }
+
+  public TodoChangeEvent itemId(Long itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  /**
+   * Todo item changed, for single item changes
+   * @return itemId
+   */
+  public Long getItemId() {
+    return itemId;
+  }
+
+  public void setItemId(Long itemId) {
+    this.itemId = itemId;
+  }
+
+  public TodoChangeEvent itemIds(List<String> itemIds) {
+    this.itemIds = itemIds;
+    return this;
+  }
+
+  /**
+   * Todo items moved by a bulk state change, absent when the whole list moved
+   * @return itemIds
+   */
+  public List<String> getItemIds() {
+    return itemIds;
+  }
+
+  public void setItemIds(List<String> itemIds) {
+    this.itemIds = itemIds;
+  }
+
+  public TodoChangeEvent state(TodoState state) {
+    this.state = state;
+    return this;
+  }
+
+  /**
+   * New state of the items moved by a bulk state change
+   * @return state
+   */
+  public TodoState getState() {
+    return state;
+  }
+
+  public void setState(TodoState state) {
+    this.state = state;
+  }
+
+  public TodoChangeEvent item(TodoItem item) {
+    this.item = item;
+    return this;
+  }
+
+  /**
+   * Todo item after the change
+   * @return item
+   */
+  public TodoItem getItem() {
+    return item;
+  }
+
+  public void setItem(TodoItem item) {
+    this.item = item;
+  }
+
+  public TodoChangeEvent list(TodoList list) {
+    this.list = list;
+    return this;
+  }
+
+  /**
+   * Todo list after the change
+   * @return list
+   */
+  public TodoList getList() {
+    return list;
+  }
+
+  public void setList(TodoList list) {
+    this.list = list;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TodoChangeEvent todoChangeEvent = (TodoChangeEvent) o;
+    return (
+      this.id == todoChangeEvent.id &&
+      Objects.equals(this.type, todoChangeEvent.type) &&
+      Objects.equals(this.listId, todoChangeEvent.listId) &&
+      Objects.equals(this.itemId, todoChangeEvent.itemId) &&
+      Objects.equals(this.itemIds, todoChangeEvent.itemIds) &&
+      Objects.equals(this.state, todoChangeEvent.state) &&
+      Objects.equals(this.item, todoChangeEvent.item) &&
+      Objects.equals(this.list, todoChangeEvent.list)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, type, listId, itemId, itemIds, state, item, list);
+  }
+}
@@ -1,15 +1,27 @@
 package co.mz.insurance.mk.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import java.time.OffsetDateTime;
 import java.util.Objects;
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.Valid;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.format.annotation.DateTimeFormat;
 
 /**
@@ -17,12 +29,37 @@ import org.springframework.format.annotation.DateTimeFormat;
  */
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(
+  indexes = {
+    @Index(name = "ix_todo_item_list_id_id", columnList = "listId, id"),
+    @Index(
+      name = "ix_todo_item_list_id_state_id",
+      columnList = "listId, state_code, id"
+    ),
+    @Index(
+      name = "ix_todo_item_state_due_date_id",
+      columnList = "state_code, dueDate, id"
+    ),
+    @Index(
+      name = "ix_todo_item_list_id_due_date_id",
+      columnList = "listId, dueDate, id"
+    ),
+  }
+)
 public class TodoItem {
 
   @JsonProperty("id")
-  @JsonSerialize(using = ToStringSerializer.class)
+  @JsonSerialize(using = IdSerializer.class)
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_item_seq")
+  @GenericGenerator(
+    name = "todo_item_seq",
+    strategy = "co.mz.insurance.mk.repository.PooledSequenceGenerator",
+    parameters = @Parameter(name = "sequence_name", value = "todo_item_seq")
+  )
   private Long id;
 
   @JsonProperty("listId")
@@ -35,6 +72,8 @@ public class TodoItem {
   private String description;
 
   @JsonProperty("state")
+  @Column(name = "state_code", length = 16)
+  @Convert(converter = TodoStateConverter.class)
   private TodoState state;
 
   @JsonProperty("dueDate")
@@ -45,6 +84,10 @@ public class TodoItem {
   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
   private OffsetDateTime completedDate;
 
+  @JsonIgnore
+  @Version
+  private Long version;
+
   public TodoItem() {
     this.dueDate = OffsetDateTime.now();
   }
@@ -175,6 +218,18 @@ public class TodoItem {
     this.completedDate = completedDate;
   }
 
+  /**
+   * Optimistic locking version, exposed to clients as the entity tag
+   * @return version
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
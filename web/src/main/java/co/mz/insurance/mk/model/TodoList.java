@@ -1,25 +1,41 @@
 package co.mz.insurance.mk.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import java.util.Objects;
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Version;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  *  A list of related Todo items
  */
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class TodoList {
 
   @JsonProperty("id")
-  @JsonSerialize(using = ToStringSerializer.class)
+  @JsonSerialize(using = IdSerializer.class)
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_list_seq")
+  @GenericGenerator(
+    name = "todo_list_seq",
+    strategy = "co.mz.insurance.mk.repository.PooledSequenceGenerator",
+    parameters = @Parameter(name = "sequence_name", value = "todo_list_seq")
+  )
   private Long id;
 
   @JsonProperty("name")
@@ -28,6 +44,10 @@ public class TodoList {
   @JsonProperty("description")
   private String description;
 
+  @JsonIgnore
+  @Version
+  private Long version;
+
   public TodoList id(Long id) {
     this.id = id;
     return this;
@@ -82,6 +102,18 @@ public class TodoList {
     this.description = description;
   }
 
+  /**
+   * Optimistic locking version, exposed to clients as the entity tag
+   * @return version
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -0,0 +1,136 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Objects;
+
+/**
+ * A Todo list with the number of its items in each state
+ */
+
+public class TodoListSummary {
+
+  @JsonProperty("id")
+  @JsonSerialize(using = IdSerializer.class)
+  private Long id;
+
+  @JsonProperty("name")
+  private String name;
+
+  @JsonProperty("todo")
+  private long todo;
+
+  @JsonProperty("inprogress")
+  private long inprogress;
+
+  @JsonProperty("done")
+  private long done;
+
+  public TodoListSummary id(Long id) {
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * Get id
+   * @return id
+   */
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public TodoListSummary name(String name) {
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * Get name
+   * @return name
+   */
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public TodoListSummary todo(long todo) {
+    this.todo = todo;
+    return this;
+  }
+
+  /**
+   * Number of items in the todo state
+   * @return todo
+   */
+  public long getTodo() {
+    return todo;
+  }
+
+  public void setTodo(long todo) {
+    this.todo = todo;
+  }
+
+  public TodoListSummary inprogress(long inprogress) {
+    this.inprogress = inprogress;
+    return this;
+  }
+
+  /**
+   * Number of items in the inprogress state
+   * @return inprogress
+   */
+  public long getInprogress() {
+    return inprogress;
+  }
+
+  public void setInprogress(long inprogress) {
+    this.inprogress = inprogress;
+  }
+
+  public TodoListSummary done(long done) {
+    this.done = done;
+    return this;
+  }
+
+  /**
+   * Number of items in the done state
+   * @return done
+   */
+  public long getDone() {
+    return done;
+  }
+
+  public void setDone(long done) {
+    this.done = done;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TodoListSummary todoListSummary = (TodoListSummary) o;
+    return (
+      Objects.equals(this.id, todoListSummary.id) &&
+      Objects.equals(this.name, todoListSummary.name) &&
+      this.todo == todoListSummary.todo &&
+      this.inprogress == todoListSummary.inprogress &&
+      this.done == todoListSummary.done
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, name, todo, inprogress, done);
+  }
+}
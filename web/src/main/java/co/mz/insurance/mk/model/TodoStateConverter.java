@@ -0,0 +1,22 @@
+package co.mz.insurance.mk.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores a {@link TodoState} as its short string value, so the column stays
+ * compact and indexable and does not depend on the enum declaration order.
+ */
+@Converter
+public class TodoStateConverter implements AttributeConverter<TodoState, String> {
+
+  @Override
+  public String convertToDatabaseColumn(TodoState state) {
+    return state == null ? null : state.getValue();
+  }
+
+  @Override
+  public TodoState convertToEntityAttribute(String value) {
+    return value == null ? null : TodoState.fromValue(value);
+  }
+}
@@ -0,0 +1,39 @@
+package co.mz.insurance.mk.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes a {@link TodoState} as its {@code @JsonValue}, from strings quoted
+ * and encoded once, rather than calling the accessor reflectively and
+ * encoding the result for every value.
+ */
+public class TodoStateSerializer extends StdSerializer<TodoState> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final SerializedString[] VALUES =
+    new SerializedString[TodoState.values().length];
+
+  static {
+    for (TodoState state : TodoState.values()) {
+      VALUES[state.ordinal()] = new SerializedString(state.getValue());
+    }
+  }
+
+  public TodoStateSerializer() {
+    super(TodoState.class);
+  }
+
+  @Override
+  public void serialize(
+    TodoState value,
+    JsonGenerator gen,
+    SerializerProvider provider
+  ) throws IOException {
+    gen.writeString(VALUES[value.ordinal()]);
+  }
+}
@@ -0,0 +1,48 @@
+package co.mz.insurance.mk.repository;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+/**
+ * Parameter binding and column conversions shared by the R2DBC repositories.
+ */
+final class Binds {
+
+  private Binds() {}
+
+  static GenericExecuteSpec bind(
+    GenericExecuteSpec spec,
+    String name,
+    Object value,
+    Class<?> type
+  ) {
+    return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+  }
+
+  /**
+   * Timestamps are stored without offset in the JVM time zone, like
+   * Hibernate does for {@link OffsetDateTime} attributes.
+   */
+  static GenericExecuteSpec bindTimestamp(
+    GenericExecuteSpec spec,
+    String name,
+    OffsetDateTime value
+  ) {
+    return bind(
+      spec,
+      name,
+      value == null
+        ? null
+        : value.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(),
+      LocalDateTime.class
+    );
+  }
+
+  static OffsetDateTime timestamp(LocalDateTime value) {
+    return value == null
+      ? null
+      : value.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+  }
+}
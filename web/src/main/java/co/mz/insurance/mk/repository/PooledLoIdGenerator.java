@@ -0,0 +1,69 @@
+package co.mz.insurance.mk.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of Hibernate's pooled-lo optimizer: each sequence
+ * value reserves a block of ids handed out from memory, so both stacks can
+ * share the same sequences. The allocation size is
+ * {@code todo.ids.allocation-size}, like that of
+ * {@link PooledSequenceGenerator}.
+ */
+final class PooledLoIdGenerator {
+
+  private final DatabaseClient databaseClient;
+
+  private final int allocationSize;
+
+  private final String nextValueSql;
+
+  private long next;
+
+  private long limit;
+
+  PooledLoIdGenerator(
+    DatabaseClient databaseClient,
+    String sequence,
+    int allocationSize
+  ) {
+    this.databaseClient = databaseClient;
+    this.allocationSize = allocationSize;
+    this.nextValueSql =
+      nextValueSql(databaseClient.getConnectionFactory(), sequence);
+  }
+
+  Mono<Long> nextId() {
+    synchronized (this) {
+      if (next < limit) {
+        return Mono.just(next++);
+      }
+    }
+    return databaseClient
+      .sql(nextValueSql)
+      .map(row -> row.get(0, Long.class))
+      .one()
+      .map(this::allocate);
+  }
+
+  /**
+   * Switch to a freshly reserved block. Blocks never overlap, so a concurrent
+   * refill at worst leaves part of a block unused.
+   */
+  private synchronized long allocate(long lo) {
+    next = lo;
+    limit = lo + allocationSize;
+    return next++;
+  }
+
+  private static String nextValueSql(
+    ConnectionFactory connectionFactory,
+    String sequence
+  ) {
+    if (connectionFactory.getMetadata().getName().contains("PostgreSQL")) {
+      return "select nextval('" + sequence + "')";
+    }
+    return "select next value for " + sequence;
+  }
+}
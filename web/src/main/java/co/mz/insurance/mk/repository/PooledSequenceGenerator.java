@@ -0,0 +1,36 @@
+package co.mz.insurance.mk.repository;
+
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence id generator whose allocation size comes from the
+ * {@value #ALLOCATION_SIZE_SETTING} setting instead of the mapping, so the
+ * entities, the reactive {@link PooledLoIdGenerator} and the sequence
+ * increments of the V4 migration all follow {@code todo.ids.allocation-size}.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+  public static final String ALLOCATION_SIZE_SETTING =
+    "todo.ids.allocation-size";
+
+  @Override
+  public void configure(
+    Type type,
+    Properties params,
+    ServiceRegistry serviceRegistry
+  ) throws MappingException {
+    Object allocationSize = serviceRegistry
+      .getService(ConfigurationService.class)
+      .getSettings()
+      .get(ALLOCATION_SIZE_SETTING);
+    if (allocationSize != null) {
+      params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+    }
+    super.configure(type, params, serviceRegistry);
+  }
+}
@@ -0,0 +1,272 @@
+package co.mz.insurance.mk.repository;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import io.r2dbc.spi.Row;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to Todo items for the reactive profile, over the same schema
+ * and indexes as {@link TodoItemRepository}. Result sets are emitted as
+ * they are read, following subscriber demand.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTodoItemRepository {
+
+  private static final String COLUMNS =
+    "id, list_id, name, description, state_code, due_date, completed_date, " +
+    "version";
+
+  private final DatabaseClient databaseClient;
+
+  private final PooledLoIdGenerator idGenerator;
+
+  public ReactiveTodoItemRepository(
+    DatabaseClient databaseClient,
+    @Value("${todo.ids.allocation-size}") int allocationSize
+  ) {
+    this.databaseClient = databaseClient;
+    this.idGenerator =
+      new PooledLoIdGenerator(databaseClient, "todo_item_seq", allocationSize);
+  }
+
+  public Mono<TodoItem> findByIdAndListId(Long id, Long listId) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_item where id = :id and list_id = :listId"
+      )
+      .bind("id", id)
+      .bind("listId", listId)
+      .map((row, metadata) -> map(row))
+      .one();
+  }
+
+  public Flux<TodoItem> findByListId(Long listId, long offset, int limit) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_item where list_id = :listId " +
+        "order by id limit :limit offset :offset"
+      )
+      .bind("listId", listId)
+      .bind("limit", limit)
+      .bind("offset", offset)
+      .map((row, metadata) -> map(row))
+      .all();
+  }
+
+  public Flux<TodoItem> findByListIdAndIdGreaterThan(
+    Long listId,
+    Long id,
+    int limit
+  ) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_item where list_id = :listId and id > :id " +
+        "order by id limit :limit"
+      )
+      .bind("listId", listId)
+      .bind("id", id)
+      .bind("limit", limit)
+      .map((row, metadata) -> map(row))
+      .all();
+  }
+
+  public Flux<TodoItem> findByListIdAndState(
+    Long listId,
+    TodoState state,
+    long offset,
+    int limit
+  ) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_item where list_id = :listId and state_code = :state " +
+        "order by id limit :limit offset :offset"
+      )
+      .bind("listId", listId)
+      .bind("state", state.getValue())
+      .bind("limit", limit)
+      .bind("offset", offset)
+      .map((row, metadata) -> map(row))
+      .all();
+  }
+
+  public Flux<TodoItem> findByListIdAndStateAndIdGreaterThan(
+    Long listId,
+    TodoState state,
+    Long id,
+    int limit
+  ) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_item where list_id = :listId and state_code = :state " +
+        "and id > :id order by id limit :limit"
+      )
+      .bind("listId", listId)
+      .bind("state", state.getValue())
+      .bind("id", id)
+      .bind("limit", limit)
+      .map((row, metadata) -> map(row))
+      .all();
+  }
+
+  public Mono<TodoItem> insert(TodoItem todoItem) {
+    return idGenerator
+      .nextId()
+      .flatMap(id -> {
+        GenericExecuteSpec spec = databaseClient
+          .sql(
+            "insert into todo_item (" +
+            COLUMNS +
+            ") values (:id, :listId, :name, :description, :state, " +
+            ":dueDate, :completedDate, 0)"
+          )
+          .bind("id", id);
+        return bindColumns(spec, todoItem)
+          .fetch()
+          .rowsUpdated()
+          .thenReturn(todoItem.id(id));
+      })
+      .doOnNext(saved -> saved.setVersion(0L));
+  }
+
+  /**
+   * Update an item if it still has the expected version.
+   *
+   * @return the updated item, or empty if it was modified concurrently
+   */
+  public Mono<TodoItem> update(TodoItem todoItem) {
+    GenericExecuteSpec spec = databaseClient
+      .sql(
+        "update todo_item set list_id = :listId, name = :name, " +
+        "description = :description, state_code = :state, " +
+        "due_date = :dueDate, completed_date = :completedDate, " +
+        "version = version + 1 where id = :id and version = :version"
+      )
+      .bind("id", todoItem.getId())
+      .bind("version", todoItem.getVersion());
+    return bindColumns(spec, todoItem)
+      .fetch()
+      .rowsUpdated()
+      .filter(updated -> updated > 0)
+      .map(updated -> {
+        todoItem.setVersion(todoItem.getVersion() + 1);
+        return todoItem;
+      });
+  }
+
+  public Mono<Integer> deleteByIdAndListId(Long id, Long listId) {
+    return databaseClient
+      .sql("delete from todo_item where id = :id and list_id = :listId")
+      .bind("id", id)
+      .bind("listId", listId)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  public Mono<Integer> deleteByListId(Long listId) {
+    return databaseClient
+      .sql("delete from todo_item where list_id = :listId")
+      .bind("listId", listId)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  public Mono<Integer> updateStateByListId(
+    Long listId,
+    TodoState state,
+    OffsetDateTime completedDate
+  ) {
+    GenericExecuteSpec spec = databaseClient
+      .sql(
+        "update todo_item set state_code = :state, " +
+        "completed_date = :completedDate, version = version + 1 " +
+        "where list_id = :listId"
+      )
+      .bind("listId", listId)
+      .bind("state", state.getValue());
+    return Binds
+      .bindTimestamp(spec, "completedDate", completedDate)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  public Mono<Integer> updateStateByListIdAndIdIn(
+    Long listId,
+    Collection<Long> ids,
+    TodoState state,
+    OffsetDateTime completedDate
+  ) {
+    GenericExecuteSpec spec = databaseClient
+      .sql(
+        "update todo_item set state_code = :state, " +
+        "completed_date = :completedDate, version = version + 1 " +
+        "where list_id = :listId and id in (:ids)"
+      )
+      .bind("listId", listId)
+      .bind("ids", ids)
+      .bind("state", state.getValue());
+    return Binds
+      .bindTimestamp(spec, "completedDate", completedDate)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  private static GenericExecuteSpec bindColumns(
+    GenericExecuteSpec spec,
+    TodoItem todoItem
+  ) {
+    spec = spec.bind("listId", todoItem.getListId());
+    spec = Binds.bind(spec, "name", todoItem.getName(), String.class);
+    spec =
+      Binds.bind(spec, "description", todoItem.getDescription(), String.class);
+    spec =
+      Binds.bind(
+        spec,
+        "state",
+        todoItem.getState() == null ? null : todoItem.getState().getValue(),
+        String.class
+      );
+    spec = Binds.bindTimestamp(spec, "dueDate", todoItem.getDueDate());
+    return Binds.bindTimestamp(
+      spec,
+      "completedDate",
+      todoItem.getCompletedDate()
+    );
+  }
+
+  private static TodoItem map(Row row) {
+    String state = row.get("state_code", String.class);
+    TodoItem todoItem = new TodoItem()
+      .id(row.get("id", Long.class))
+      .listId(row.get("list_id", Long.class))
+      .name(row.get("name", String.class))
+      .description(row.get("description", String.class))
+      .state(state == null ? null : TodoState.fromValue(state))
+      .dueDate(Binds.timestamp(row.get("due_date", LocalDateTime.class)))
+      .completedDate(
+        Binds.timestamp(row.get("completed_date", LocalDateTime.class))
+      );
+    todoItem.setVersion(row.get("version", Long.class));
+    return todoItem;
+  }
+}
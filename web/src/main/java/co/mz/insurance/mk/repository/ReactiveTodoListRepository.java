@@ -0,0 +1,145 @@
+package co.mz.insurance.mk.repository;
+
+import co.mz.insurance.mk.model.TodoList;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to Todo lists for the reactive profile, over the same schema
+ * as {@link TodoListRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTodoListRepository {
+
+  private static final String COLUMNS = "id, name, description, version";
+
+  private final DatabaseClient databaseClient;
+
+  private final PooledLoIdGenerator idGenerator;
+
+  public ReactiveTodoListRepository(
+    DatabaseClient databaseClient,
+    @Value("${todo.ids.allocation-size}") int allocationSize
+  ) {
+    this.databaseClient = databaseClient;
+    this.idGenerator =
+      new PooledLoIdGenerator(databaseClient, "todo_list_seq", allocationSize);
+  }
+
+  public Mono<TodoList> findById(Long id) {
+    return databaseClient
+      .sql("select " + COLUMNS + " from todo_list where id = :id")
+      .bind("id", id)
+      .map((row, metadata) -> map(row))
+      .one();
+  }
+
+  public Mono<Boolean> existsById(Long id) {
+    return databaseClient
+      .sql("select 1 from todo_list where id = :id")
+      .bind("id", id)
+      .map((row, metadata) -> Boolean.TRUE)
+      .first()
+      .defaultIfEmpty(Boolean.FALSE);
+  }
+
+  public Flux<TodoList> findAll(long offset, int limit) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_list order by id limit :limit offset :offset"
+      )
+      .bind("limit", limit)
+      .bind("offset", offset)
+      .map((row, metadata) -> map(row))
+      .all();
+  }
+
+  public Flux<TodoList> findByIdGreaterThan(Long id, int limit) {
+    return databaseClient
+      .sql(
+        "select " +
+        COLUMNS +
+        " from todo_list where id > :id order by id limit :limit"
+      )
+      .bind("id", id)
+      .bind("limit", limit)
+      .map((row, metadata) -> map(row))
+      .all();
+  }
+
+  public Mono<TodoList> insert(TodoList todoList) {
+    return idGenerator
+      .nextId()
+      .flatMap(id -> {
+        GenericExecuteSpec spec = databaseClient
+          .sql(
+            "insert into todo_list (" +
+            COLUMNS +
+            ") values (:id, :name, :description, 0)"
+          )
+          .bind("id", id);
+        spec = Binds.bind(spec, "name", todoList.getName(), String.class);
+        spec =
+          Binds.bind(
+            spec,
+            "description",
+            todoList.getDescription(),
+            String.class
+          );
+        return spec.fetch().rowsUpdated().thenReturn(todoList.id(id));
+      })
+      .doOnNext(saved -> saved.setVersion(0L));
+  }
+
+  /**
+   * Update a list if it still has the expected version.
+   *
+   * @return the updated list, or empty if it was modified concurrently
+   */
+  public Mono<TodoList> update(TodoList todoList) {
+    GenericExecuteSpec spec = databaseClient
+      .sql(
+        "update todo_list set name = :name, description = :description, " +
+        "version = version + 1 where id = :id and version = :version"
+      )
+      .bind("id", todoList.getId())
+      .bind("version", todoList.getVersion());
+    spec = Binds.bind(spec, "name", todoList.getName(), String.class);
+    spec =
+      Binds.bind(spec, "description", todoList.getDescription(), String.class);
+    return spec
+      .fetch()
+      .rowsUpdated()
+      .filter(updated -> updated > 0)
+      .map(updated -> {
+        todoList.setVersion(todoList.getVersion() + 1);
+        return todoList;
+      });
+  }
+
+  public Mono<Integer> deleteById(Long id) {
+    return databaseClient
+      .sql("delete from todo_list where id = :id")
+      .bind("id", id)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  private static TodoList map(Row row) {
+    TodoList todoList = new TodoList()
+      .id(row.get("id", Long.class))
+      .name(row.get("name", String.class))
+      .description(row.get("description", String.class));
+    todoList.setVersion(row.get("version", Long.class));
+    return todoList;
+  }
+}
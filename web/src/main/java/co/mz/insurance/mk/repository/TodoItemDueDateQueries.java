@@ -0,0 +1,38 @@
+package co.mz.insurance.mk.repository;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Due-date range queries, ordered by due date then id and paged by keyset:
+ * pass the due date and id of the last item of the previous page, or nulls
+ * for the first page. Items without a due date are never returned.
+ */
+public interface TodoItemDueDateQueries {
+  /**
+   * Items due in {@code [from, to)}; every bound and filter is optional.
+   */
+  List<TodoItem> findByDueDate(
+    Long listId,
+    TodoState state,
+    OffsetDateTime from,
+    OffsetDateTime to,
+    OffsetDateTime afterDueDate,
+    Long afterId,
+    int limit
+  );
+
+  /**
+   * Items not done whose due date is before {@code now}, across all lists
+   * unless a list is given.
+   */
+  List<TodoItem> findOverdue(
+    OffsetDateTime now,
+    Long listId,
+    OffsetDateTime afterDueDate,
+    Long afterId,
+    int limit
+  );
+}
@@ -0,0 +1,102 @@
+package co.mz.insurance.mk.repository;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+/**
+ * Criteria implementation of {@link TodoItemDueDateQueries}, adding only the
+ * predicates that are set so each query matches one of the due-date indexes.
+ */
+class TodoItemDueDateQueriesImpl implements TodoItemDueDateQueries {
+
+  private static final Comparator<TodoItem> BY_DUE_DATE_AND_ID = Comparator
+    .comparing(TodoItem::getDueDate)
+    .thenComparing(TodoItem::getId);
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<TodoItem> findByDueDate(
+    Long listId,
+    TodoState state,
+    OffsetDateTime from,
+    OffsetDateTime to,
+    OffsetDateTime afterDueDate,
+    Long afterId,
+    int limit
+  ) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<TodoItem> query = cb.createQuery(TodoItem.class);
+    Root<TodoItem> item = query.from(TodoItem.class);
+    Path<OffsetDateTime> dueDate = item.get("dueDate");
+    Path<Long> id = item.get("id");
+    List<Predicate> where = new ArrayList<>();
+    if (listId != null) {
+      where.add(cb.equal(item.get("listId"), listId));
+    }
+    if (state != null) {
+      where.add(cb.equal(item.get("state"), state));
+    }
+    where.add(
+      from != null
+        ? cb.greaterThanOrEqualTo(dueDate, from)
+        : cb.isNotNull(dueDate)
+    );
+    if (to != null) {
+      where.add(cb.lessThan(dueDate, to));
+    }
+    if (afterDueDate != null && afterId != null) {
+      where.add(
+        cb.or(
+          cb.greaterThan(dueDate, afterDueDate),
+          cb.and(cb.equal(dueDate, afterDueDate), cb.greaterThan(id, afterId))
+        )
+      );
+    }
+    query
+      .select(item)
+      .where(where.toArray(new Predicate[0]))
+      .orderBy(cb.asc(dueDate), cb.asc(id));
+    return entityManager
+      .createQuery(query)
+      .setMaxResults(limit)
+      .getResultList();
+  }
+
+  /**
+   * Reads one page per open state, each an ordered scan of the
+   * (state_code, due_date, id) index, and merges them; a single query over
+   * both states would have to sort all overdue items.
+   */
+  @Override
+  public List<TodoItem> findOverdue(
+    OffsetDateTime now,
+    Long listId,
+    OffsetDateTime afterDueDate,
+    Long afterId,
+    int limit
+  ) {
+    List<TodoItem> overdue = new ArrayList<>();
+    for (TodoState state : TodoState.values()) {
+      if (state != TodoState.DONE) {
+        overdue.addAll(
+          findByDueDate(listId, state, null, now, afterDueDate, afterId, limit)
+        );
+      }
+    }
+    overdue.sort(BY_DUE_DATE_AND_ID);
+    return overdue.size() > limit ? overdue.subList(0, limit) : overdue;
+  }
+}
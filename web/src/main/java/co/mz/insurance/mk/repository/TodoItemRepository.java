@@ -1,21 +1,204 @@
 package co.mz.insurance.mk.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TodoItemRepository
-  extends PagingAndSortingRepository<TodoItem, Long> {
+  extends
+    PagingAndSortingRepository<TodoItem, Long>, TodoItemDueDateQueries {
   List<TodoItem> findByListId(Long listId);
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  Optional<TodoItem> findByIdAndListId(Long id, Long listId);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   List<TodoItem> findByListId(Long listId, Pageable pageable);
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   List<TodoItem> findByListIdAndState(
     Long listId,
-    String state,
+    TodoState state,
     Pageable pageable
   );
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  List<TodoItem> findByListIdAndIdGreaterThanOrderByIdAsc(
+    Long listId,
+    Long id,
+    Pageable pageable
+  );
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  List<TodoItem> findByListIdAndStateAndIdGreaterThanOrderByIdAsc(
+    Long listId,
+    TodoState state,
+    Long id,
+    Pageable pageable
+  );
+
+  /**
+   * Streams every item of a list in id order from a forward-only cursor.
+   * Rows are read-only and bypass the second-level cache; the caller must
+   * hold a transaction open while consuming the stream and close it.
+   */
+  @QueryHints(
+    {
+      @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HINT_READONLY, value = "true"),
+      @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+    }
+  )
+  @Query("select i from TodoItem i where i.listId = :listId order by i.id")
+  Stream<TodoItem> streamByListId(@Param("listId") Long listId);
+
+  /**
+   * Streams every item in id order, like {@link #streamByListId(Long)}.
+   */
+  @QueryHints(
+    {
+      @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HINT_READONLY, value = "true"),
+      @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+    }
+  )
+  @Query("select i from TodoItem i order by i.id")
+  Stream<TodoItem> streamAll();
+
+  /**
+   * The given items that belong to a list, as {@code [id, state]} rows, so
+   * that counters can be moved before a bulk state update and only the items
+   * of that list are reported as changed. The rows stay locked until the
+   * transaction ends, so the update that follows moves them from the states
+   * read here.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    "select i.id, i.state from TodoItem i " +
+    "where i.listId = :listId and i.id in :ids order by i.id"
+  )
+  List<Object[]> findIdAndStateByListIdAndIdIn(
+    @Param("listId") Long listId,
+    @Param("ids") Collection<Long> ids
+  );
+
+  /**
+   * Moves the given items of a list to a new state in a single statement,
+   * without loading them into the persistence context.
+   *
+   * @return the number of rows changed
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    "update TodoItem i set i.state = :state, i.completedDate = :completedDate, " +
+    "i.version = i.version + 1 " +
+    "where i.listId = :listId and i.id in :ids"
+  )
+  int updateStateByListIdAndIdIn(
+    @Param("listId") Long listId,
+    @Param("ids") Collection<Long> ids,
+    @Param("state") TodoState state,
+    @Param("completedDate") OffsetDateTime completedDate
+  );
+
+  /**
+   * Moves every item of a list to a new state in a single statement.
+   *
+   * @return the number of rows changed
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    "update TodoItem i set i.state = :state, i.completedDate = :completedDate, " +
+    "i.version = i.version + 1 " +
+    "where i.listId = :listId"
+  )
+  int updateStateByListId(
+    @Param("listId") Long listId,
+    @Param("state") TodoState state,
+    @Param("completedDate") OffsetDateTime completedDate
+  );
+
+  /**
+   * Deletes an item only if it belongs to the given list.
+   *
+   * @return the number of rows deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from TodoItem i where i.id = :id and i.listId = :listId")
+  int deleteByIdAndListId(@Param("id") Long id, @Param("listId") Long listId);
+
+  /**
+   * Deletes every item of a list in a single statement, without loading them.
+   *
+   * @return the number of rows deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from TodoItem i where i.listId = :listId")
+  int deleteByListId(@Param("listId") Long listId);
+
+  /**
+   * Deletes the items of a list up to and including the given id, so a huge
+   * list can be removed in bounded batches walking the (list_id, id) index.
+   *
+   * @return the number of rows deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    "delete from TodoItem i where i.listId = :listId and i.id <= :lastId"
+  )
+  int deleteByListIdAndIdLessThanEqual(
+    @Param("listId") Long listId,
+    @Param("lastId") Long lastId
+  );
+
+  /**
+   * Item ids of a list in ascending order, used to find batch boundaries.
+   */
+  @Query("select i.id from TodoItem i where i.listId = :listId order by i.id")
+  List<Long> findIdsByListId(@Param("listId") Long listId, Pageable pageable);
+
+  /**
+   * Whether a list has more than {@code count} items, answered by looking for
+   * a row at that offset of the (list_id, id) index instead of counting them
+   * all.
+   */
+  default boolean hasMoreItemsThan(Long listId, int count) {
+    return !findIdsByListId(listId, PageRequest.of(count, 1)).isEmpty();
+  }
+
+  /**
+   * Ids of lists that no longer exist but still have items.
+   */
+  @Query(
+    "select distinct i.listId from TodoItem i where not exists (" +
+    "select l.id from TodoList l where l.id = i.listId)"
+  )
+  List<Long> findOrphanedListIds();
+
+  /**
+   * Saves and flushes at once, so the returned entity carries the version
+   * written by this update even inside a longer transaction.
+   */
+  <S extends TodoItem> S saveAndFlush(S entity);
 }
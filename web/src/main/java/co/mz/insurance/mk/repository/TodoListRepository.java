@@ -1,9 +1,29 @@
 package co.mz.insurance.mk.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import co.mz.insurance.mk.model.TodoList;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TodoListRepository
-  extends PagingAndSortingRepository<TodoList, Long> {}
+  extends PagingAndSortingRepository<TodoList, Long> {
+  @Override
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  Page<TodoList> findAll(Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  List<TodoList> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+  /**
+   * Saves and flushes at once, so the returned entity carries the version
+   * written by this update even inside a longer transaction.
+   */
+  <S extends TodoList> S saveAndFlush(S entity);
+}
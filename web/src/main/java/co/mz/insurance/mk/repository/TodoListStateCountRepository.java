@@ -0,0 +1,189 @@
+package co.mz.insurance.mk.repository;
+
+import co.mz.insurance.mk.model.TodoState;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Per-list, per-state item counters. Every list has one row per state, so
+ * counters are always adjusted with a plain atomic update.
+ */
+@Repository
+public class TodoListStateCountRepository {
+
+  private static final String INSERT_MISSING =
+    "insert into todo_list_state_count (list_id, state_code, item_count) " +
+    "select l.id, s.state_code, 0 from todo_list l " +
+    "cross join (values ('todo'), ('inprogress'), ('done')) as s (state_code) " +
+    "where not exists (select 1 from todo_list_state_count c " +
+    "where c.list_id = l.id and c.state_code = s.state_code)";
+
+  private static final String DELETE_ORPHANS =
+    "delete from todo_list_state_count c where not exists (" +
+    "select 1 from todo_list l where l.id = c.list_id)";
+
+  private static final String RECOUNT =
+    "update todo_list_state_count c set item_count = (" +
+    "select count(*) from todo_item i " +
+    "where i.list_id = c.list_id and i.state_code = c.state_code)";
+
+  private static final String LOCK =
+    "select list_id from todo_list_state_count where list_id in (:listIds) " +
+    "order by list_id, state_code for update";
+
+  private static final String ADD =
+    "update todo_list_state_count set item_count = item_count + :delta " +
+    "where list_id = :listId and state_code = :state";
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public TodoListStateCountRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  public void initialize(Long listId) {
+    for (TodoState state : TodoState.values()) {
+      jdbc.update(
+        "insert into todo_list_state_count (list_id, state_code, item_count) " +
+        "values (:listId, :state, 0)",
+        params(listId, state)
+      );
+    }
+  }
+
+  public void add(Long listId, TodoState state, long delta) {
+    if (state == null || delta == 0) {
+      return;
+    }
+    jdbc.update(ADD, params(listId, state).addValue("delta", delta));
+  }
+
+  /**
+   * Apply many counter adjustments in one JDBC batch.
+   *
+   * @param deltas the adjustments per list and state
+   */
+  public void addAll(Map<Long, Map<TodoState, Long>> deltas) {
+    List<MapSqlParameterSource> batch = new ArrayList<>();
+    deltas.forEach((listId, byState) ->
+      byState.forEach((state, delta) -> {
+        if (delta != 0) {
+          batch.add(params(listId, state).addValue("delta", delta));
+        }
+      })
+    );
+    if (batch.isEmpty()) {
+      return;
+    }
+    jdbc.batchUpdate(ADD, batch.toArray(new MapSqlParameterSource[0]));
+  }
+
+  public Map<Long, Map<TodoState, Long>> findByListIdIn(
+    Collection<Long> listIds
+  ) {
+    Map<Long, Map<TodoState, Long>> counts = new HashMap<>();
+    if (listIds.isEmpty()) {
+      return counts;
+    }
+    jdbc.query(
+      "select list_id, state_code, item_count from todo_list_state_count " +
+      "where list_id in (:listIds)",
+      new MapSqlParameterSource("listIds", listIds),
+      rs -> {
+        counts
+          .computeIfAbsent(
+            rs.getLong("list_id"),
+            id -> new EnumMap<>(TodoState.class)
+          )
+          .put(
+            TodoState.fromValue(rs.getString("state_code")),
+            rs.getLong("item_count")
+          );
+      }
+    );
+    return counts;
+  }
+
+  /**
+   * Total number of items of a list according to its counters.
+   */
+  public long countByListId(Long listId) {
+    Long count = jdbc.queryForObject(
+      "select coalesce(sum(item_count), 0) from todo_list_state_count " +
+      "where list_id = :listId",
+      new MapSqlParameterSource("listId", listId),
+      Long.class
+    );
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * Recompute the counters of one list from its items. Must run in a
+   * transaction, see {@link #recount(Collection)}.
+   */
+  public void recount(Long listId) {
+    recount(List.of(listId));
+  }
+
+  /**
+   * Recompute the counters of some lists from their items. The counter rows
+   * are locked first, so a concurrent {@link #add} either commits before the
+   * items are counted, and is counted, or waits until the recount commits and
+   * is applied on top of it. Must run in a transaction for the locks to last
+   * until the recount is written.
+   *
+   * @param listIds the lists to recount
+   * @return the number of counters recomputed
+   */
+  public int recount(Collection<Long> listIds) {
+    if (listIds.isEmpty()) {
+      return 0;
+    }
+    MapSqlParameterSource params = new MapSqlParameterSource(
+      "listIds",
+      listIds
+    );
+    // In key order, so overlapping recounts never deadlock on each other
+    jdbc.queryForList(LOCK, params, Long.class);
+    return jdbc.update(RECOUNT + " where c.list_id in (:listIds)", params);
+  }
+
+  /**
+   * Drop the counters of deleted lists and recreate missing ones, at zero
+   * until they are recounted.
+   */
+  public void repairAll() {
+    jdbc.update(DELETE_ORPHANS, new MapSqlParameterSource());
+    jdbc.update(INSERT_MISSING, new MapSqlParameterSource());
+  }
+
+  /**
+   * Ids of every list that has counters, in ascending order.
+   */
+  public List<Long> findListIds() {
+    return jdbc.queryForList(
+      "select distinct list_id from todo_list_state_count order by list_id",
+      new MapSqlParameterSource(),
+      Long.class
+    );
+  }
+
+  public void deleteByListId(Long listId) {
+    jdbc.update(
+      "delete from todo_list_state_count where list_id = :listId",
+      new MapSqlParameterSource("listId", listId)
+    );
+  }
+
+  private static MapSqlParameterSource params(Long listId, TodoState state) {
+    return new MapSqlParameterSource("listId", listId)
+      .addValue("state", state.getValue());
+  }
+}
@@ -0,0 +1,181 @@
+package co.mz.insurance.mk.repository;
+
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The outbox log and the cursors of the application instances reading it.
+ * Every instance reads every entry; an entry is deleted once all cursors
+ * are past it, and the cursor of an instance that stopped reading is
+ * dropped after the retention period.
+ */
+@Repository
+public class TodoOutboxRepository {
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public TodoOutboxRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /**
+   * Insert the changes in one JDBC batch.
+   *
+   * @param payloads the serialized changes, in the order of {@code events}
+   */
+  public void appendAll(
+    List<TodoChangeEvent> events,
+    List<String> payloads,
+    Instant now
+  ) {
+    MapSqlParameterSource[] batch = new MapSqlParameterSource[events.size()];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] =
+        new MapSqlParameterSource("listId", events.get(i).getListId())
+          .addValue("type", events.get(i).getType())
+          .addValue("payload", payloads.get(i))
+          .addValue("now", Timestamp.from(now));
+    }
+    jdbc.batchUpdate(
+      "insert into todo_outbox (list_id, event_type, payload, created_at) " +
+      "values (:listId, :type, :payload, :now)",
+      batch
+    );
+  }
+
+  /**
+   * The id of the newest entry, 0 when there is none.
+   */
+  public long findLastId() {
+    return jdbc.queryForObject(
+      "select coalesce(max(id), 0) from todo_outbox",
+      new MapSqlParameterSource(),
+      Long.class
+    );
+  }
+
+  /**
+   * Entries in id order that are newer than {@code afterId} or fall in one
+   * of the given id ranges.
+   *
+   * @param ranges inclusive {@code [from, to]} ranges of ids
+   */
+  public List<Entry> findAfter(long afterId, List<long[]> ranges, int limit) {
+    StringBuilder sql = new StringBuilder(
+      "select id, list_id, payload from todo_outbox where id > :afterId"
+    );
+    MapSqlParameterSource params = new MapSqlParameterSource()
+      .addValue("afterId", afterId)
+      .addValue("limit", limit);
+    for (int i = 0; i < ranges.size(); i++) {
+      sql
+        .append(" or id between :from")
+        .append(i)
+        .append(" and :to")
+        .append(i);
+      params
+        .addValue("from" + i, ranges.get(i)[0])
+        .addValue("to" + i, ranges.get(i)[1]);
+    }
+    sql.append(" order by id limit :limit");
+    return jdbc.query(
+      sql.toString(),
+      params,
+      (rs, rowNum) ->
+        new Entry(
+          rs.getLong("id"),
+          rs.getLong("list_id"),
+          rs.getString("payload")
+        )
+    );
+  }
+
+  /**
+   * The id up to which an instance consumed the log, or {@code null} when it
+   * has no cursor.
+   */
+  public Long findCursor(String nodeId) {
+    try {
+      return jdbc.queryForObject(
+        "select last_id from todo_outbox_cursor where node_id = :nodeId",
+        new MapSqlParameterSource("nodeId", nodeId),
+        Long.class
+      );
+    } catch (EmptyResultDataAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Create or move the cursor of an instance. Each instance only writes its
+   * own cursor, so the update and insert do not race.
+   */
+  public void saveCursor(String nodeId, long lastId, Instant now) {
+    MapSqlParameterSource params = new MapSqlParameterSource("nodeId", nodeId)
+      .addValue("lastId", lastId)
+      .addValue("now", Timestamp.from(now));
+    int updated = jdbc.update(
+      "update todo_outbox_cursor set last_id = :lastId, updated_at = :now " +
+      "where node_id = :nodeId",
+      params
+    );
+    if (updated == 0) {
+      jdbc.update(
+        "insert into todo_outbox_cursor (node_id, last_id, updated_at) " +
+        "values (:nodeId, :lastId, :now)",
+        params
+      );
+    }
+  }
+
+  /**
+   * Drop the cursors of the instances that stopped reading, then delete the
+   * entries every remaining cursor is past.
+   *
+   * @return the number of entries deleted
+   */
+  public int deleteConsumed(Instant staleBefore) {
+    jdbc.update(
+      "delete from todo_outbox_cursor where updated_at < :staleBefore",
+      new MapSqlParameterSource("staleBefore", Timestamp.from(staleBefore))
+    );
+    return jdbc.update(
+      "delete from todo_outbox " +
+      "where id <= (select min(last_id) from todo_outbox_cursor)",
+      new MapSqlParameterSource()
+    );
+  }
+
+  public static final class Entry {
+
+    private final long id;
+
+    private final long listId;
+
+    private final String payload;
+
+    Entry(long id, long listId, String payload) {
+      this.id = id;
+      this.listId = listId;
+      this.payload = payload;
+    }
+
+    public long getId() {
+      return id;
+    }
+
+    public long getListId() {
+      return listId;
+    }
+
+    public String getPayload() {
+      return payload;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package co.mz.insurance.mk.service;
+
+import co.mz.insurance.mk.model.TodoChangeEvent;
+
+/**
+ * Downstream work on committed changes, run by {@link TodoOutbox} off the
+ * request path on every application instance. A change is delivered at
+ * least once: when any consumer fails it is retried for all of them, and
+ * changes may be delivered again after a restart, so consumers must be
+ * idempotent or tolerate repeats.
+ */
+public interface TodoChangeConsumer {
+  void consume(TodoChangeEvent event) throws Exception;
+
+  /**
+   * Called on the dispatcher thread before the first change is handed over.
+   *
+   * @param resumed whether the instance resumed reading where it stopped;
+   * when not, the changes made in between are not delivered and state kept
+   * across restarts must be rebuilt
+   */
+  default void start(boolean resumed) {}
+}
@@ -0,0 +1,251 @@
+package co.mz.insurance.mk.service;
+
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-process fan-out of committed changes to Server-Sent Events subscribers.
+ * <p>
+ * Publishing never waits on a subscriber: every subscriber has a bounded
+ * queue drained by a small pool of sender threads, and one whose queue fills
+ * up is disconnected; browsers then reconnect with the id of the last event
+ * they received. The last {@code todo.changes.buffer-size} events are kept so
+ * such a client resumes where it left off, or is told to reload when it fell
+ * further behind.
+ * <p>
+ * Event ids are {@code <epoch>-<sequence>}, the epoch being unique to this
+ * feed instance. The sequence starts again after a restart and is not shared
+ * between instances, so an id from another epoch always gets a reset.
+ */
+@Service
+@Profile("!reactive")
+public class TodoChangeFeed implements TodoChangeConsumer {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    TodoChangeFeed.class
+  );
+
+  private final Deque<TodoChangeEvent> recent = new ArrayDeque<>();
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final ExecutorService senders;
+
+  private final int bufferSize;
+
+  private final int subscriberQueueSize;
+
+  private final long timeoutMillis;
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  private long sequence;
+
+  public TodoChangeFeed(
+    @Value("${todo.changes.buffer-size}") int bufferSize,
+    @Value("${todo.changes.subscriber-queue-size}") int subscriberQueueSize,
+    @Value("${todo.changes.senders}") int senders,
+    @Value("${todo.changes.timeout}") Duration timeout
+  ) {
+    this.bufferSize = bufferSize;
+    this.subscriberQueueSize = subscriberQueueSize;
+    this.timeoutMillis = timeout.toMillis();
+    this.senders = Executors.newFixedThreadPool(senders);
+  }
+
+  /**
+   * Fan a committed change out to the subscribers, as delivered by the
+   * {@link TodoOutbox}.
+   */
+  @Override
+  public void consume(TodoChangeEvent event) {
+    synchronized (recent) {
+      event.setId(++sequence);
+      recent.addLast(event);
+      if (recent.size() > bufferSize) {
+        recent.removeFirst();
+      }
+      for (Subscriber subscriber : subscribers) {
+        subscriber.offer(event);
+      }
+    }
+  }
+
+  /**
+   * Open a feed of the changes to one list, or to all lists when
+   * {@code listId} is null, starting after {@code lastEventId} if given.
+   */
+  public SseEmitter subscribe(Long listId, String lastEventId) {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(listId, emitter);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+    synchronized (recent) {
+      if (lastEventId != null) {
+        replay(subscriber, lastEventId);
+      }
+      subscribers.add(subscriber);
+    }
+    return emitter;
+  }
+
+  @PreDestroy
+  public void close() {
+    senders.shutdownNow();
+    for (Subscriber subscriber : subscribers) {
+      subscriber.emitter.complete();
+    }
+  }
+
+  /**
+   * Queue the buffered events after {@code lastEventId}, or a reset event
+   * when some of them are no longer buffered, would not fit the queue, or
+   * the id comes from another epoch.
+   */
+  private void replay(Subscriber subscriber, String lastEventId) {
+    long lastSequence = sequenceOf(lastEventId);
+    if (lastSequence == sequence) {
+      return;
+    }
+    long oldest = recent.isEmpty() ? sequence + 1 : recent.getFirst().getId();
+    List<TodoChangeEvent> missed = new ArrayList<>();
+    for (TodoChangeEvent event : recent) {
+      if (event.getId() > lastSequence && subscriber.accepts(event)) {
+        missed.add(event);
+      }
+    }
+    if (
+      lastSequence < 0 ||
+      lastSequence > sequence ||
+      lastSequence + 1 < oldest ||
+      missed.size() > subscriberQueueSize
+    ) {
+      subscriber.offer(
+        new TodoChangeEvent().id(sequence).type(TodoChangeEvent.RESET)
+      );
+      return;
+    }
+    for (TodoChangeEvent event : missed) {
+      subscriber.offer(event);
+    }
+  }
+
+  /**
+   * The sequence of an event id of this epoch, or -1 for any other id.
+   */
+  private long sequenceOf(String eventId) {
+    int separator = eventId.indexOf('-');
+    if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(eventId.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private String eventId(TodoChangeEvent event) {
+    return epoch + "-" + event.getId();
+  }
+
+  private final class Subscriber implements Runnable {
+
+    private final Long listId;
+
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<TodoChangeEvent> queue;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    Subscriber(Long listId, SseEmitter emitter) {
+      this.listId = listId;
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+    }
+
+    boolean accepts(TodoChangeEvent event) {
+      return (
+        listId == null ||
+        event.getListId() == null ||
+        listId.equals(event.getListId())
+      );
+    }
+
+    void offer(TodoChangeEvent event) {
+      if (closed || !accepts(event)) {
+        return;
+      }
+      if (!queue.offer(event)) {
+        log.debug("Dropping change feed subscriber that fell behind");
+        close();
+        emitter.complete();
+        return;
+      }
+      schedule();
+    }
+
+    @Override
+    public void run() {
+      try {
+        TodoChangeEvent event;
+        while (!closed && (event = queue.poll()) != null) {
+          emitter.send(
+            SseEmitter
+              .event()
+              .id(eventId(event))
+              .name(event.getType())
+              .data(event, MediaType.APPLICATION_JSON)
+          );
+        }
+      } catch (IOException | IllegalStateException e) {
+        close();
+      } finally {
+        scheduled.set(false);
+      }
+      if (!queue.isEmpty()) {
+        schedule();
+      }
+    }
+
+    void close() {
+      closed = true;
+      subscribers.remove(this);
+    }
+
+    private void schedule() {
+      if (!closed && scheduled.compareAndSet(false, true)) {
+        try {
+          senders.execute(this);
+        } catch (RejectedExecutionException e) {
+          close();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package co.mz.insurance.mk.service;
+
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.repository.TodoListStateCountRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Removes the items of deleted lists with set-based statements, never loading
+ * them into the persistence context.
+ */
+@Service
+@Profile("!reactive")
+public class TodoItemPurgeService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    TodoItemPurgeService.class
+  );
+
+  private final TodoItemRepository todoItemRepository;
+
+  private final TodoListStateCountRepository todoListStateCountRepository;
+
+  private final TodoOutbox todoOutbox;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final TransactionTemplate transaction;
+
+  private final int syncThreshold;
+
+  private final int batchSize;
+
+  public TodoItemPurgeService(
+    TodoItemRepository todoItemRepository,
+    TodoListStateCountRepository todoListStateCountRepository,
+    TodoOutbox todoOutbox,
+    ApplicationEventPublisher eventPublisher,
+    PlatformTransactionManager transactionManager,
+    @Value("${todo.lists.delete.sync-threshold}") int syncThreshold,
+    @Value("${todo.lists.delete.batch-size}") int batchSize
+  ) {
+    this.todoItemRepository = todoItemRepository;
+    this.todoListStateCountRepository = todoListStateCountRepository;
+    this.todoOutbox = todoOutbox;
+    this.eventPublisher = eventPublisher;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.syncThreshold = syncThreshold;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Delete the items of a list that is being deleted. Small lists are emptied
+   * with one statement in the caller's transaction; larger ones are purged in
+   * batches once that transaction commits. The size is probed on the items
+   * themselves, as the counters may lag behind them.
+   */
+  public void deleteItemsOf(Long listId) {
+    if (!todoItemRepository.hasMoreItemsThan(listId, syncThreshold)) {
+      todoItemRepository.deleteByListId(listId);
+    } else {
+      eventPublisher.publishEvent(new TodoListDeletedEvent(listId));
+    }
+  }
+
+  @Async
+  @TransactionalEventListener
+  public void onListDeleted(TodoListDeletedEvent event) {
+    purge(event.getListId());
+  }
+
+  /**
+   * Delete the items of a list in batches of at most {@code batch-size} rows,
+   * each in its own short transaction.
+   *
+   * @return the number of items deleted
+   */
+  public long purge(Long listId) {
+    long deleted = 0;
+    int batch;
+    do {
+      batch =
+        transaction.execute(status -> {
+          List<Long> ids = todoItemRepository.findIdsByListId(
+            listId,
+            PageRequest.of(0, batchSize)
+          );
+          if (ids.isEmpty()) {
+            return 0;
+          }
+          return todoItemRepository.deleteByListIdAndIdLessThanEqual(
+            listId,
+            ids.get(ids.size() - 1)
+          );
+        });
+      deleted += batch;
+    } while (batch > 0);
+    log.info("Purged {} items of deleted list {}", deleted, listId);
+    return deleted;
+  }
+
+  /**
+   * Delete the items and counters left behind by lists that no longer exist.
+   *
+   * @return the number of items deleted
+   */
+  public long purgeOrphans() {
+    long deleted = 0;
+    for (Long listId : todoItemRepository.findOrphanedListIds()) {
+      deleted += purge(listId);
+      todoListStateCountRepository.deleteByListId(listId);
+      todoOutbox.append(
+        new TodoChangeEvent().type(TodoChangeEvent.LIST_DELETED).listId(listId)
+      );
+    }
+    return deleted;
+  }
+}
@@ -0,0 +1,385 @@
+package co.mz.insurance.mk.service;
+
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Embedded Lucene index over the name and description of the Todo items.
+ * <p>
+ * All changes arrive through the {@link TodoOutbox}, which every instance
+ * reads, and become searchable at the next refresh, every
+ * {@code todo.search.refresh-interval-ms}.
+ * Bulk state changes only rewrite the state doc values, without reindexing
+ * the text. The index is kept in memory unless {@code todo.search.index-dir}
+ * is set, and is rebuilt from the database when the outbox starts without
+ * resuming, or when it is empty. That happens on the outbox thread, so the
+ * application starts without waiting for it; until then the index is not
+ * {@linkplain #isReady() ready}.
+ */
+@Service
+@Profile("!reactive")
+public class TodoItemSearchIndex implements TodoChangeConsumer {
+
+  /**
+   * Upper bound of {@code skip + top}, so deep pages cannot make a search
+   * collect an unbounded number of hits.
+   */
+  public static final int MAX_RESULT_WINDOW = 10_000;
+
+  private static final Logger log = LoggerFactory.getLogger(
+    TodoItemSearchIndex.class
+  );
+
+  private static final String ID = "id";
+
+  private static final String LIST_ID = "listId";
+
+  private static final String STATE = "state";
+
+  private static final String NAME = "name";
+
+  private static final String DESCRIPTION = "description";
+
+  private static final Set<String> ID_ONLY = Set.of(ID);
+
+  private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+    NAME,
+    2f,
+    DESCRIPTION,
+    1f
+  );
+
+  private static final long NO_STATE = -1;
+
+  private final TodoItemRepository todoItemRepository;
+
+  private final EntityManager entityManager;
+
+  private final TransactionTemplate readOnlyTransaction;
+
+  private final Analyzer analyzer = new StandardAnalyzer();
+
+  private final Directory directory;
+
+  private final IndexWriter writer;
+
+  private final SearcherManager searcherManager;
+
+  private volatile boolean ready;
+
+  public TodoItemSearchIndex(
+    TodoItemRepository todoItemRepository,
+    EntityManager entityManager,
+    PlatformTransactionManager transactionManager,
+    @Value("${todo.search.index-dir}") String indexDir
+  ) throws IOException {
+    this.todoItemRepository = todoItemRepository;
+    this.entityManager = entityManager;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.directory =
+      indexDir.isEmpty()
+        ? new ByteBuffersDirectory()
+        : FSDirectory.open(Paths.get(indexDir));
+    this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+    this.searcherManager = new SearcherManager(writer, null);
+  }
+
+  /**
+   * Find the items matching the text, best match first. The text uses the
+   * simple query syntax: all terms must match, {@code "..."} for phrases,
+   * {@code *} for prefixes and {@code |} for alternatives.
+   *
+   * @param listId restrict the search to one list (optional)
+   * @param state  restrict the search to one state (optional)
+   * @return the ids of the matching items in rank order
+   */
+  public List<Long> search(
+    String text,
+    Long listId,
+    TodoState state,
+    int skip,
+    int top
+  ) {
+    SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+    parser.setDefaultOperator(BooleanClause.Occur.MUST);
+    BooleanQuery.Builder query = new BooleanQuery.Builder()
+      .add(parser.parse(text), BooleanClause.Occur.MUST);
+    if (listId != null) {
+      query.add(listIdQuery(listId), BooleanClause.Occur.FILTER);
+    }
+    if (state != null) {
+      query.add(
+        NumericDocValuesField.newSlowExactQuery(STATE, stateCode(state)),
+        BooleanClause.Occur.FILTER
+      );
+    }
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        ScoreDoc[] hits = searcher.search(query.build(), skip + top).scoreDocs;
+        List<Long> ids = new ArrayList<>(Math.max(hits.length - skip, 0));
+        for (int i = skip; i < hits.length; i++) {
+          ids.add(Long.valueOf(searcher.doc(hits[i].doc, ID_ONLY).get(ID)));
+        }
+        return ids;
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Apply a committed change straight away. A failure is thrown so that the
+   * outbox retries the change.
+   */
+  @Override
+  public void consume(TodoChangeEvent event) throws IOException {
+    switch (event.getType()) {
+      case TodoChangeEvent.ITEM_CREATED:
+      case TodoChangeEvent.ITEM_UPDATED:
+        indexing(event.getItem()).apply();
+        break;
+      case TodoChangeEvent.ITEM_DELETED:
+        deleting(event.getItemId()).apply();
+        break;
+      case TodoChangeEvent.LIST_DELETED:
+        deletingList(event.getListId()).apply();
+        break;
+      case TodoChangeEvent.ITEMS_STATE_CHANGED:
+        movingState(
+          event.getListId(),
+          ids(event.getItemIds()),
+          event.getState()
+        )
+          .apply();
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Rebuild the index unless the outbox resumes where this instance left it
+   * and the index was kept as well. Run before any change is consumed, so
+   * the changes committed during the rebuild are applied on top of it.
+   */
+  @Override
+  public void start(boolean resumed) {
+    if (!resumed || (size() == 0 && todoItemRepository.count() > 0)) {
+      rebuild();
+    }
+    ready = true;
+  }
+
+  /**
+   * Whether the index was loaded or rebuilt since start-up, so that searches
+   * do not miss the items that were already stored.
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Replace the index content with the items in the database. Changes made
+   * while the rebuild runs may be missed, so it is best run when idle.
+   *
+   * @return the number of items indexed
+   */
+  public long rebuild() {
+    long indexed = readOnlyTransaction.execute(status -> {
+      long count = 0;
+      try (Stream<TodoItem> items = todoItemRepository.streamAll()) {
+        writer.deleteAll();
+        Iterator<TodoItem> iterator = items.iterator();
+        while (iterator.hasNext()) {
+          TodoItem item = iterator.next();
+          writer.addDocument(document(item));
+          entityManager.detach(item);
+          count++;
+        }
+        writer.commit();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return count;
+    });
+    refresh();
+    log.info("Rebuilt the search index with {} items", indexed);
+    return indexed;
+  }
+
+  public int size() {
+    return writer.getDocStats().numDocs;
+  }
+
+  @Scheduled(fixedDelayString = "${todo.search.refresh-interval-ms}")
+  public void refresh() {
+    try {
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${todo.search.commit-interval-ms}")
+  public void commit() throws IOException {
+    if (writer.hasUncommittedChanges()) {
+      writer.commit();
+    }
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    searcherManager.close();
+    writer.close();
+    directory.close();
+  }
+
+  private IndexChange indexing(TodoItem item) {
+    Document document = document(item);
+    return () -> writer.updateDocument(idTerm(item.getId()), document);
+  }
+
+  private IndexChange deleting(Long itemId) {
+    return () -> writer.deleteDocuments(idTerm(itemId));
+  }
+
+  private IndexChange deletingList(Long listId) {
+    return () -> writer.deleteDocuments(listIdTerm(listId));
+  }
+
+  /**
+   * Move items to a new state without reindexing their text.
+   *
+   * @param itemIds the items to move, or {@code null} for the whole list
+   */
+  private IndexChange movingState(
+    Long listId,
+    Collection<Long> itemIds,
+    TodoState state
+  ) {
+    List<Long> ids = itemIds == null ? null : new ArrayList<>(itemIds);
+    return () -> {
+      if (ids == null) {
+        writer.updateDocValues(listIdTerm(listId), stateField(state));
+      } else {
+        for (Long id : ids) {
+          writer.updateDocValues(idTerm(id), stateField(state));
+        }
+      }
+    };
+  }
+
+  private static List<Long> ids(List<String> itemIds) {
+    return itemIds == null
+      ? null
+      : itemIds.stream().map(Long::valueOf).collect(Collectors.toList());
+  }
+
+  private static Document document(TodoItem item) {
+    Document document = new Document();
+    document.add(new StringField(ID, item.getId().toString(), Field.Store.YES));
+    document.add(
+      new StringField(LIST_ID, String.valueOf(item.getListId()), Field.Store.NO)
+    );
+    document.add(stateField(item.getState()));
+    if (item.getName() != null) {
+      document.add(new TextField(NAME, item.getName(), Field.Store.NO));
+    }
+    if (item.getDescription() != null) {
+      document.add(
+        new TextField(DESCRIPTION, item.getDescription(), Field.Store.NO)
+      );
+    }
+    return document;
+  }
+
+  private static NumericDocValuesField stateField(TodoState state) {
+    return new NumericDocValuesField(
+      STATE,
+      state == null ? NO_STATE : stateCode(state)
+    );
+  }
+
+  /**
+   * Fixed code of a state in the index, which may be kept on disk across
+   * releases, so it must not follow the order of the enum constants. The
+   * codes are those of the indexes written before they were pinned.
+   */
+  private static long stateCode(TodoState state) {
+    switch (state) {
+      case TODO:
+        return 0;
+      case INPROGRESS:
+        return 1;
+      case DONE:
+        return 2;
+      default:
+        throw new IllegalArgumentException("No index code for " + state);
+    }
+  }
+
+  private static Term idTerm(Long id) {
+    return new Term(ID, id.toString());
+  }
+
+  private static Term listIdTerm(Long listId) {
+    return new Term(LIST_ID, listId.toString());
+  }
+
+  private static Query listIdQuery(Long listId) {
+    return new TermQuery(listIdTerm(listId));
+  }
+
+  @FunctionalInterface
+  private interface IndexChange {
+    void apply() throws IOException;
+  }
+}
@@ -0,0 +1,18 @@
+package co.mz.insurance.mk.service;
+
+/**
+ * Published when a list is deleted whose items are too many to delete in the
+ * same transaction.
+ */
+public class TodoListDeletedEvent {
+
+  private final Long listId;
+
+  public TodoListDeletedEvent(Long listId) {
+    this.listId = listId;
+  }
+
+  public Long getListId() {
+    return listId;
+  }
+}
@@ -0,0 +1,510 @@
+package co.mz.insurance.mk.service;
+
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import co.mz.insurance.mk.repository.TodoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transactional outbox for the changes to lists and items.
+ * <p>
+ * {@link #append} records a change in the caller's transaction, so it is
+ * kept exactly when the change itself commits. The outbox is a log that every
+ * application instance reads from its own cursor, handing each change to its
+ * own {@link TodoChangeConsumer}s, so the search index and change feed of
+ * every instance see all changes whichever instance made them. Changes are
+ * read in batches of {@code todo.outbox.batch-size}; the lists of a batch
+ * are spread over {@code todo.outbox.parallelism} workers while the changes
+ * of one list are consumed in order. A failed change is retried by that
+ * instance with exponential backoff, holding back the later changes of its
+ * list, and given up after {@code todo.outbox.max-attempts}.
+ * <p>
+ * Ids are taken when a change is written, not when it commits, so an id
+ * missing from what was read may still show up. Such gaps are read again
+ * until they are filled or {@code todo.outbox.gap-timeout} has passed, after
+ * which the transaction is taken to have rolled back. Changes of the same
+ * item are written under its row lock, so they commit in id order.
+ * <p>
+ * The cursor of an instance, {@code todo.outbox.node-id}, is saved every
+ * {@code todo.outbox.poll-interval-ms}. An instance with a fixed node id
+ * resumes where it stopped; otherwise, or when its cursor was dropped after
+ * {@code todo.outbox.retention} without reads, it starts at the end of the
+ * log and the consumers are told to resynchronize. Entries are deleted once
+ * every cursor is past them.
+ */
+@Service
+@Profile("!reactive")
+public class TodoOutbox {
+
+  private static final Logger log = LoggerFactory.getLogger(TodoOutbox.class);
+
+  /**
+   * Open gaps read again at most, the oldest are given up beyond this.
+   */
+  private static final int MAX_GAPS = 100;
+
+  private final TodoOutboxRepository todoOutboxRepository;
+
+  private final List<TodoChangeConsumer> consumers;
+
+  private final ObjectMapper objectMapper;
+
+  private final ExecutorService dispatcher =
+    Executors.newSingleThreadExecutor();
+
+  private final ExecutorService workers;
+
+  private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+  private final String nodeId;
+
+  private final int batchSize;
+
+  private final int maxAttempts;
+
+  private final Duration initialBackoff;
+
+  private final Duration maxBackoff;
+
+  private final Duration gapTimeout;
+
+  private final Duration cursorSaveInterval;
+
+  private final Duration retention;
+
+  // The state below is only used by the dispatcher thread
+
+  private boolean started;
+
+  /**
+   * Id of the newest entry read.
+   */
+  private long readCursor;
+
+  /**
+   * Ids below {@link #readCursor} not read yet, by first id.
+   */
+  private final TreeMap<Long, Gap> gaps = new TreeMap<>();
+
+  /**
+   * Lists whose changes wait for the retry of their oldest one.
+   */
+  private final Map<Long, Backlog> backlogs = new HashMap<>();
+
+  private Instant cursorSavedAt = Instant.MIN;
+
+  public TodoOutbox(
+    TodoOutboxRepository todoOutboxRepository,
+    List<TodoChangeConsumer> consumers,
+    ObjectMapper objectMapper,
+    @Value("${todo.outbox.node-id}") String nodeId,
+    @Value("${todo.outbox.batch-size}") int batchSize,
+    @Value("${todo.outbox.parallelism}") int parallelism,
+    @Value("${todo.outbox.max-attempts}") int maxAttempts,
+    @Value("${todo.outbox.backoff.initial}") Duration initialBackoff,
+    @Value("${todo.outbox.backoff.max}") Duration maxBackoff,
+    @Value("${todo.outbox.gap-timeout}") Duration gapTimeout,
+    @Value("${todo.outbox.poll-interval-ms}") long pollIntervalMillis,
+    @Value("${todo.outbox.retention}") Duration retention
+  ) {
+    this.todoOutboxRepository = todoOutboxRepository;
+    this.consumers = consumers;
+    this.objectMapper = objectMapper;
+    this.workers = Executors.newFixedThreadPool(parallelism);
+    this.nodeId = nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.gapTimeout = gapTimeout;
+    this.cursorSaveInterval = Duration.ofMillis(pollIntervalMillis);
+    this.retention = retention;
+  }
+
+  /**
+   * Record a change in the current transaction; it is consumed once that
+   * transaction commits, or right away when there is none.
+   */
+  public void append(TodoChangeEvent event) {
+    appendAll(List.of(event));
+  }
+
+  /**
+   * Record several changes at once, like {@link #append}, in one JDBC batch.
+   */
+  public void appendAll(List<TodoChangeEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    List<String> payloads = new ArrayList<>(events.size());
+    try {
+      for (TodoChangeEvent event : events) {
+        payloads.add(objectMapper.writeValueAsString(event));
+      }
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+    todoOutboxRepository.appendAll(events, payloads, Instant.now());
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            requestDrain();
+          }
+        }
+      );
+    } else {
+      requestDrain();
+    }
+  }
+
+  /**
+   * Read the changes made by the other instances, retry failed changes and
+   * keep the cursor of this instance alive.
+   */
+  @Scheduled(fixedDelayString = "${todo.outbox.poll-interval-ms}")
+  public void poll() {
+    requestDrain();
+  }
+
+  @Scheduled(fixedDelayString = "${todo.outbox.cleanup-interval-ms}")
+  public void deleteConsumed() {
+    int deleted = todoOutboxRepository.deleteConsumed(
+      Instant.now().minus(retention)
+    );
+    log.debug("Deleted {} consumed outbox entries", deleted);
+  }
+
+  @PreDestroy
+  public void close() {
+    dispatcher.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  private void requestDrain() {
+    if (drainRequested.compareAndSet(false, true)) {
+      try {
+        dispatcher.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // Shutting down, the changes are picked up after the restart
+      }
+    }
+  }
+
+  private void drain() {
+    // Cleared before reading, so a change committed from now on asks for
+    // another pass instead of being missed by this one.
+    drainRequested.set(false);
+    try {
+      if (!started) {
+        start();
+      }
+      List<TodoOutboxRepository.Entry> batch;
+      do {
+        batch = read();
+        dispatch(batch);
+      } while (
+        batch.size() == batchSize && !Thread.currentThread().isInterrupted()
+      );
+      retryDue();
+      saveCursor();
+    } catch (RuntimeException e) {
+      log.warn("Outbox dispatch failed, retrying at the next poll", e);
+    }
+  }
+
+  /**
+   * Resume from the saved cursor, or start at the end of the log. Entries
+   * just before the end are read again, as some of them may not have been
+   * committed yet, and the consumers resynchronize before any change is
+   * handed to them.
+   */
+  private void start() {
+    Long cursor = todoOutboxRepository.findCursor(nodeId);
+    boolean resumed = cursor != null;
+    readCursor =
+      resumed
+        ? cursor
+        : Math.max(todoOutboxRepository.findLastId() - batchSize, 0);
+    saveCursor();
+    log.info(
+      "Reading the outbox as {} after entry {}{}",
+      nodeId,
+      readCursor,
+      resumed ? "" : ", resynchronizing the consumers"
+    );
+    for (TodoChangeConsumer consumer : consumers) {
+      consumer.start(resumed);
+    }
+    started = true;
+  }
+
+  /**
+   * The next entries after the read cursor or in an open gap, recording the
+   * new gaps and closing the filled ones. Entries of lists waiting for a
+   * retry are queued behind it instead of being returned.
+   */
+  private List<TodoOutboxRepository.Entry> read() {
+    expireGaps();
+    List<long[]> ranges = new ArrayList<>(gaps.size());
+    for (Gap gap : gaps.values()) {
+      ranges.add(new long[] { gap.from, gap.to });
+    }
+    List<TodoOutboxRepository.Entry> entries = todoOutboxRepository.findAfter(
+      readCursor,
+      ranges,
+      batchSize
+    );
+    Instant now = Instant.now();
+    for (TodoOutboxRepository.Entry entry : entries) {
+      long id = entry.getId();
+      if (id > readCursor) {
+        if (id > readCursor + 1) {
+          gaps.put(readCursor + 1, new Gap(readCursor + 1, id - 1, now));
+        }
+        readCursor = id;
+      } else {
+        fill(id);
+      }
+    }
+    List<TodoOutboxRepository.Entry> ready = new ArrayList<>(entries.size());
+    for (TodoOutboxRepository.Entry entry : entries) {
+      Backlog backlog = backlogs.get(entry.getListId());
+      if (backlog == null) {
+        ready.add(entry);
+      } else {
+        backlog.entries.addLast(entry);
+      }
+    }
+    return ready;
+  }
+
+  private void fill(long id) {
+    Map.Entry<Long, Gap> found = gaps.floorEntry(id);
+    if (found == null || found.getValue().to < id) {
+      return;
+    }
+    Gap gap = gaps.remove(found.getKey());
+    if (gap.from < id) {
+      gaps.put(gap.from, new Gap(gap.from, id - 1, gap.since));
+    }
+    if (id < gap.to) {
+      gaps.put(id + 1, new Gap(id + 1, gap.to, gap.since));
+    }
+  }
+
+  private void expireGaps() {
+    Instant expired = Instant.now().minus(gapTimeout);
+    gaps.values().removeIf(gap -> gap.since.isBefore(expired));
+    while (gaps.size() > MAX_GAPS) {
+      Gap gap = gaps.pollFirstEntry().getValue();
+      log.warn(
+        "Too many outbox gaps, giving up entries {} to {}",
+        gap.from,
+        gap.to
+      );
+    }
+  }
+
+  private void dispatch(List<TodoOutboxRepository.Entry> batch) {
+    Map<Long, Deque<TodoOutboxRepository.Entry>> byList =
+      new LinkedHashMap<>();
+    for (TodoOutboxRepository.Entry entry : batch) {
+      byList
+        .computeIfAbsent(entry.getListId(), id -> new ArrayDeque<>())
+        .add(entry);
+    }
+    consumeAll(byList);
+  }
+
+  private void retryDue() {
+    Instant now = Instant.now();
+    Map<Long, Deque<TodoOutboxRepository.Entry>> due = new LinkedHashMap<>();
+    for (Map.Entry<Long, Backlog> backlog : backlogs.entrySet()) {
+      if (!backlog.getValue().retryAt.isAfter(now)) {
+        due.put(backlog.getKey(), backlog.getValue().entries);
+      }
+    }
+    consumeAll(due);
+  }
+
+  /**
+   * Consume the changes of the lists in parallel, each list in order. The
+   * changes left over by a failure are kept in the list's backlog.
+   */
+  private void consumeAll(
+    Map<Long, Deque<TodoOutboxRepository.Entry>> byList
+  ) {
+    if (byList.isEmpty()) {
+      return;
+    }
+    List<Callable<Exception>> tasks = new ArrayList<>(byList.size());
+    for (Deque<TodoOutboxRepository.Entry> entries : byList.values()) {
+      tasks.add(() -> consumeInOrder(entries));
+    }
+    try {
+      Iterator<Long> listIds = byList.keySet().iterator();
+      for (Future<Exception> result : workers.invokeAll(tasks)) {
+        Long listId = listIds.next();
+        Exception failure = result.get();
+        if (failure == null) {
+          backlogs.remove(listId);
+        } else {
+          failed(listId, byList.get(listId), failure);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Consume the changes of one list in order, removing each one consumed and
+   * stopping at the first failure so that the later ones wait for its retry.
+   *
+   * @return the failure, or {@code null} when all were consumed
+   */
+  private Exception consumeInOrder(
+    Deque<TodoOutboxRepository.Entry> entries
+  ) {
+    TodoOutboxRepository.Entry entry;
+    while ((entry = entries.peekFirst()) != null) {
+      try {
+        TodoChangeEvent event = objectMapper.readValue(
+          entry.getPayload(),
+          TodoChangeEvent.class
+        );
+        for (TodoChangeConsumer consumer : consumers) {
+          consumer.consume(event);
+        }
+        entries.removeFirst();
+      } catch (Exception e) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  private void failed(
+    Long listId,
+    Deque<TodoOutboxRepository.Entry> entries,
+    Exception e
+  ) {
+    Backlog backlog = backlogs.computeIfAbsent(
+      listId,
+      id -> new Backlog(entries)
+    );
+    TodoOutboxRepository.Entry entry = entries.peekFirst();
+    backlog.attempts++;
+    if (backlog.attempts >= maxAttempts) {
+      log.error(
+        "Giving up outbox entry {} of list {} after {} attempts",
+        entry.getId(),
+        listId,
+        backlog.attempts,
+        e
+      );
+      entries.removeFirst();
+      backlog.attempts = 0;
+      backlog.retryAt = Instant.now();
+    } else {
+      Duration delay = backoff(backlog.attempts);
+      log.warn(
+        "Outbox entry {} of list {} failed, retrying in {}: {}",
+        entry.getId(),
+        listId,
+        delay,
+        e.toString()
+      );
+      backlog.retryAt = Instant.now().plus(delay);
+    }
+  }
+
+  private Duration backoff(int attempts) {
+    Duration delay = initialBackoff.multipliedBy(
+      1L << Math.min(attempts - 1, 20)
+    );
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  /**
+   * Save the id up to which every entry was consumed or given up, once per
+   * poll interval, which also keeps the cursor from being dropped as stale.
+   */
+  private void saveCursor() {
+    long cursor = readCursor;
+    if (!gaps.isEmpty()) {
+      cursor = Math.min(cursor, gaps.firstKey() - 1);
+    }
+    for (Backlog backlog : backlogs.values()) {
+      if (!backlog.entries.isEmpty()) {
+        cursor = Math.min(cursor, backlog.entries.peekFirst().getId() - 1);
+      }
+    }
+    Instant now = Instant.now();
+    if (!now.isBefore(cursorSavedAt.plus(cursorSaveInterval))) {
+      todoOutboxRepository.saveCursor(nodeId, cursor, now);
+      cursorSavedAt = now;
+    }
+  }
+
+  private static final class Gap {
+
+    private final long from;
+
+    private final long to;
+
+    private final Instant since;
+
+    Gap(long from, long to, Instant since) {
+      this.from = from;
+      this.to = to;
+      this.since = since;
+    }
+  }
+
+  private static final class Backlog {
+
+    private final Deque<TodoOutboxRepository.Entry> entries;
+
+    private int attempts;
+
+    private Instant retryAt = Instant.now();
+
+    Backlog(Deque<TodoOutboxRepository.Entry> entries) {
+      this.entries = entries;
+    }
+  }
+}
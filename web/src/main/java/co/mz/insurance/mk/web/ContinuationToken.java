@@ -0,0 +1,142 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoItem;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset pagination. It wraps the id of the last row
+ * returned, or its due date and id for listings ordered by due date, so the
+ * next page can seek past it instead of using an OFFSET.
+ */
+final class ContinuationToken {
+
+  static final String HEADER = "X-Continuation-Token";
+
+  private static final String PREFIX = "id:";
+
+  private static final String DUE_DATE_PREFIX = "due:";
+
+  private static final String DUE_DATE_SEPARATOR = "/";
+
+  private ContinuationToken() {}
+
+  static String encode(Long lastId) {
+    return encode(PREFIX + lastId);
+  }
+
+  static String encode(OffsetDateTime lastDueDate, Long lastId) {
+    return encode(
+      DUE_DATE_PREFIX + lastDueDate.toInstant() + DUE_DATE_SEPARATOR + lastId
+    );
+  }
+
+  /**
+   * Decode a token previously produced by {@link #encode(Long)}.
+   *
+   * @return the last id seen, or empty if the token is malformed
+   */
+  static Optional<Long> decode(String token) {
+    try {
+      String value = decodeValue(token);
+      if (!value.startsWith(PREFIX)) {
+        return Optional.empty();
+      }
+      return Optional.of(Long.valueOf(value.substring(PREFIX.length())));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Decode a token previously produced by
+   * {@link #encode(OffsetDateTime, Long)}.
+   *
+   * @return the last due date and id seen, or empty if the token is malformed
+   */
+  static Optional<DueDateKey> decodeDueDate(String token) {
+    try {
+      String value = decodeValue(token);
+      int separator = value.lastIndexOf(DUE_DATE_SEPARATOR);
+      if (!value.startsWith(DUE_DATE_PREFIX) || separator < 0) {
+        return Optional.empty();
+      }
+      return Optional.of(
+        new DueDateKey(
+          Instant
+            .parse(value.substring(DUE_DATE_PREFIX.length(), separator))
+            .atOffset(ZoneOffset.UTC),
+          Long.valueOf(value.substring(separator + 1))
+        )
+      );
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Token pointing after the last element of a page, or null when the page
+   * is not full and there is nothing left to read.
+   */
+  static <T> String next(List<T> page, int size, Function<T, Long> id) {
+    if (page.isEmpty() || page.size() < size) {
+      return null;
+    }
+    return encode(id.apply(page.get(page.size() - 1)));
+  }
+
+  /**
+   * Like {@link #next(List, int, Function)}, for items ordered by due date.
+   */
+  static String nextByDueDate(List<TodoItem> page, int size) {
+    if (page.isEmpty() || page.size() < size) {
+      return null;
+    }
+    TodoItem last = page.get(page.size() - 1);
+    return encode(last.getDueDate(), last.getId());
+  }
+
+  private static String encode(String value) {
+    return Base64
+      .getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String decodeValue(String token) {
+    return new String(
+      Base64.getUrlDecoder().decode(token),
+      StandardCharsets.UTF_8
+    );
+  }
+
+  /**
+   * Position of the last item of a page ordered by due date then id.
+   */
+  static final class DueDateKey {
+
+    private final OffsetDateTime dueDate;
+
+    private final Long id;
+
+    DueDateKey(OffsetDateTime dueDate, Long id) {
+      this.dueDate = dueDate;
+      this.id = id;
+    }
+
+    OffsetDateTime getDueDate() {
+      return dueDate;
+    }
+
+    Long getId() {
+      return id;
+    }
+  }
+}
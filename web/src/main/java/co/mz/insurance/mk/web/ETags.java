@@ -0,0 +1,66 @@
+package co.mz.insurance.mk.web;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags derived from entity ids and versions, so they can be
+ * computed and compared without serializing the response body.
+ */
+final class ETags {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private ETags() {}
+
+  static String of(Long id, Long version) {
+    return "\"" + id + "-" + version + "\"";
+  }
+
+  /**
+   * Tag of a collection page, which changes whenever an element is added,
+   * removed, reordered or updated.
+   */
+  static <T> String of(
+    List<T> content,
+    Function<T, Long> id,
+    Function<T, Long> version
+  ) {
+    long hash = FNV_OFFSET_BASIS;
+    for (T element : content) {
+      hash = mix(hash, id.apply(element));
+      hash = mix(hash, version.apply(element));
+    }
+    return "\"" + content.size() + "-" + Long.toHexString(hash) + "\"";
+  }
+
+  /**
+   * Evaluate an {@code If-Match} header against the current tag, using the
+   * strong comparison required for unsafe methods.
+   *
+   * @return true if the header is absent or matches the current tag
+   */
+  static boolean matches(String ifMatch, String etag) {
+    if (ifMatch == null) {
+      return true;
+    }
+    for (String candidate : ifMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long mix(long hash, Long value) {
+    long v = value == null ? 0 : value;
+    for (int i = 0; i < Long.BYTES; i++) {
+      hash ^= (v >>> (i * 8)) & 0xff;
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+}
@@ -1,10 +1,12 @@
 package co.mz.insurance.mk.web;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
+@Profile("!reactive")
 public class HomeController {
 
   @GetMapping(path = "/", produces = MediaType.TEXT_HTML_VALUE)
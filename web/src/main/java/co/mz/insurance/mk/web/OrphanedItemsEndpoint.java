@@ -0,0 +1,47 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.service.TodoItemPurgeService;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin endpoint listing and purging the items of lists that no longer exist,
+ * left behind before list deletion cascaded to items.
+ * <p>
+ * Exposed over JMX only, as the {@code orphans} MBean of the
+ * {@code org.springframework.boot} domain: its read operation lists the ids
+ * of the missing lists, its delete operation deletes their items in batches.
+ */
+@Component
+@Endpoint(id = "orphans")
+@Profile("!reactive")
+public class OrphanedItemsEndpoint {
+
+  private final TodoItemRepository todoItemRepository;
+
+  private final TodoItemPurgeService todoItemPurgeService;
+
+  public OrphanedItemsEndpoint(
+    TodoItemRepository todoItemRepository,
+    TodoItemPurgeService todoItemPurgeService
+  ) {
+    this.todoItemRepository = todoItemRepository;
+    this.todoItemPurgeService = todoItemPurgeService;
+  }
+
+  @ReadOperation
+  public Map<String, List<Long>> orphanedListIds() {
+    return Map.of("listIds", todoItemRepository.findOrphanedListIds());
+  }
+
+  @DeleteOperation
+  public Map<String, Long> purge() {
+    return Map.of("deleted", todoItemPurgeService.purgeOrphans());
+  }
+}
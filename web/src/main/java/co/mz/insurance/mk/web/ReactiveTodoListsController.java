@@ -0,0 +1,499 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoList;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.ReactiveTodoItemRepository;
+import co.mz.insurance.mk.repository.ReactiveTodoListRepository;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of {@link TodoListsController}, serving the same endpoints
+ * on WebFlux and R2DBC when the "reactive" profile is active.
+ * <p>
+ * Collections are read from the database following client demand. As JSON
+ * arrays they are tagged and carry the continuation token of the next page,
+ * like the pages of {@link TodoListsController}. Ask for
+ * {@code application/x-ndjson} to receive items as they are read instead;
+ * since the headers are then sent before the first item, such streams carry
+ * neither, and are paged with {@code top} and {@code skip}.
+ */
+@RestController
+@Profile("reactive")
+public class ReactiveTodoListsController {
+
+  private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
+  private static final String UPDATED_COUNT_HEADER = "X-Updated-Count";
+
+  private final ReactiveTodoListRepository todoListRepository;
+
+  private final ReactiveTodoItemRepository todoItemRepository;
+
+  private final TransactionalOperator transactionalOperator;
+
+  private final Validator validator;
+
+  public ReactiveTodoListsController(
+    ReactiveTodoListRepository todoListRepository,
+    ReactiveTodoItemRepository todoItemRepository,
+    ReactiveTransactionManager transactionManager,
+    Validator validator
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoItemRepository = todoItemRepository;
+    this.transactionalOperator =
+      TransactionalOperator.create(transactionManager);
+    this.validator = validator;
+  }
+
+  @PostMapping("/lists/{listId}/items")
+  public Mono<ResponseEntity<TodoItem>> createItem(
+    @PathVariable("listId") Long listId,
+    @RequestBody(required = false) TodoItem todoItem,
+    ServerHttpRequest request
+  ) {
+    if (todoItem == null) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    todoItem.setListId(listId);
+    if (!validator.validate(todoItem).isEmpty()) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    return todoListRepository
+      .existsById(listId)
+      .flatMap(exists -> {
+        if (!exists) {
+          return Mono.just(ResponseEntity.notFound().<TodoItem>build());
+        }
+        return todoItemRepository
+          .insert(todoItem)
+          .map(saved ->
+            ResponseEntity
+              .created(location(request, saved.getId()))
+              .eTag(ETags.of(saved.getId(), saved.getVersion()))
+              .body(saved)
+          );
+      });
+  }
+
+  @PostMapping("/lists")
+  public Mono<ResponseEntity<TodoList>> createList(
+    @RequestBody(required = false) TodoList todoList,
+    ServerHttpRequest request
+  ) {
+    if (todoList == null || !validator.validate(todoList).isEmpty()) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    return todoListRepository
+      .insert(todoList)
+      .map(saved ->
+        ResponseEntity
+          .created(location(request, saved.getId()))
+          .eTag(ETags.of(saved.getId(), saved.getVersion()))
+          .body(saved)
+      );
+  }
+
+  @DeleteMapping("/lists/{listId}/items/{itemId}")
+  public Mono<ResponseEntity<Void>> deleteItemById(
+    @PathVariable("listId") Long listId,
+    @PathVariable("itemId") Long itemId
+  ) {
+    return todoItemRepository
+      .deleteByIdAndListId(itemId, listId)
+      .map(deleted -> deleted > 0 ? noContent() : notFound());
+  }
+
+  @DeleteMapping("/lists/{listId}")
+  public Mono<ResponseEntity<Void>> deleteListById(
+    @PathVariable("listId") Long listId
+  ) {
+    return todoListRepository
+      .deleteById(listId)
+      .flatMap(deleted ->
+        deleted > 0
+          ? todoItemRepository.deleteByListId(listId).thenReturn(noContent())
+          : Mono.just(notFound())
+      )
+      .as(transactionalOperator::transactional);
+  }
+
+  @GetMapping("/lists/{listId}/items/{itemId}")
+  public Mono<ResponseEntity<TodoItem>> getItemById(
+    @PathVariable("listId") Long listId,
+    @PathVariable("itemId") Long itemId
+  ) {
+    return todoItemRepository
+      .findByIdAndListId(itemId, listId)
+      .map(t ->
+        ResponseEntity.ok().eTag(ETags.of(t.getId(), t.getVersion())).body(t)
+      )
+      .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @GetMapping(
+    path = "/lists/{listId}/items",
+    produces = {
+      MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+    }
+  )
+  public Mono<ResponseEntity<Flux<TodoItem>>> getItemsByListId(
+    @PathVariable("listId") Long listId,
+    @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @RequestParam(
+      value = "skip",
+      required = false,
+      defaultValue = "0"
+    ) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken,
+    ServerHttpRequest request
+  ) {
+    int size = top.intValue();
+    return todoListRepository
+      .existsById(listId)
+      .flatMap(exists -> {
+        if (!exists) {
+          return Mono.just(ResponseEntity.notFound().<Flux<TodoItem>>build());
+        }
+        Flux<TodoItem> items = continuationToken == null
+          ? todoItemRepository.findByListId(
+            listId,
+            (long) skip.intValue() * size,
+            size
+          )
+          : todoItemRepository.findByListIdAndIdGreaterThan(
+            listId,
+            lastId(continuationToken),
+            size
+          );
+        return page(
+          request,
+          items,
+          size,
+          TodoItem::getId,
+          TodoItem::getVersion
+        );
+      });
+  }
+
+  @GetMapping(
+    path = "/lists/{listId}/items/state/{state}",
+    produces = {
+      MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+    }
+  )
+  public Mono<ResponseEntity<Flux<TodoItem>>> getItemsByListIdAndState(
+    @PathVariable("listId") Long listId,
+    @PathVariable("state") TodoState state,
+    @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @RequestParam(
+      value = "skip",
+      required = false,
+      defaultValue = "0"
+    ) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken,
+    ServerHttpRequest request
+  ) {
+    int size = top.intValue();
+    Flux<TodoItem> items = continuationToken == null
+      ? todoItemRepository.findByListIdAndState(
+        listId,
+        state,
+        (long) skip.intValue() * size,
+        size
+      )
+      : todoItemRepository.findByListIdAndStateAndIdGreaterThan(
+        listId,
+        state,
+        lastId(continuationToken),
+        size
+      );
+    return page(request, items, size, TodoItem::getId, TodoItem::getVersion);
+  }
+
+  @GetMapping("/lists/{listId}")
+  public Mono<ResponseEntity<TodoList>> getListById(
+    @PathVariable("listId") Long listId
+  ) {
+    return todoListRepository
+      .findById(listId)
+      .map(t ->
+        ResponseEntity.ok().eTag(ETags.of(t.getId(), t.getVersion())).body(t)
+      )
+      .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @GetMapping(
+    path = "/lists",
+    produces = {
+      MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+    }
+  )
+  public Mono<ResponseEntity<Flux<TodoList>>> getLists(
+    @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @RequestParam(
+      value = "skip",
+      required = false,
+      defaultValue = "0"
+    ) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken,
+    ServerHttpRequest request
+  ) {
+    int size = top.intValue();
+    Flux<TodoList> lists = continuationToken == null
+      ? todoListRepository.findAll((long) skip.intValue() * size, size)
+      : todoListRepository.findByIdGreaterThan(lastId(continuationToken), size);
+    return page(request, lists, size, TodoList::getId, TodoList::getVersion);
+  }
+
+  @PutMapping("/lists/{listId}/items/{itemId}")
+  public Mono<ResponseEntity<TodoItem>> updateItemById(
+    @PathVariable("listId") Long listId,
+    @PathVariable("itemId") Long itemId,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    @RequestBody(required = false) TodoItem todoItem
+  ) {
+    if (todoItem == null) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    todoItem.setListId(listId);
+    if (!validator.validate(todoItem).isEmpty()) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    return todoItemRepository
+      .findByIdAndListId(itemId, listId)
+      .flatMap(t -> {
+        if (!ETags.matches(ifMatch, ETags.of(t.getId(), t.getVersion()))) {
+          return Mono.just(preconditionFailed().<TodoItem>build());
+        }
+        t
+          .name(todoItem.getName())
+          .description(todoItem.getDescription())
+          .state(todoItem.getState())
+          .dueDate(todoItem.getDueDate())
+          .completedDate(todoItem.getCompletedDate());
+        return todoItemRepository
+          .update(t)
+          .map(saved ->
+            ResponseEntity
+              .ok()
+              .eTag(ETags.of(saved.getId(), saved.getVersion()))
+              .body(saved)
+          )
+          .defaultIfEmpty(preconditionFailed().build());
+      })
+      .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @PutMapping("/lists/{listId}/items/state/{state}")
+  public Mono<ResponseEntity<Void>> updateItemsStateByListId(
+    @PathVariable("listId") Long listId,
+    @PathVariable("state") TodoState state,
+    @RequestBody(required = false) List<String> requestBody
+  ) {
+    OffsetDateTime completedDate = state == TodoState.DONE
+      ? OffsetDateTime.now()
+      : null;
+    Mono<Integer> updated;
+    if (requestBody == null) {
+      updated =
+        todoItemRepository.updateStateByListId(listId, state, completedDate);
+    } else {
+      List<Long> itemIds = new ArrayList<>(requestBody.size());
+      try {
+        for (String itemId : requestBody) {
+          itemIds.add(Long.valueOf(itemId));
+        }
+      } catch (NumberFormatException e) {
+        return Mono.just(ResponseEntity.badRequest().build());
+      }
+      List<List<Long>> chunks = new ArrayList<>();
+      for (
+        int from = 0;
+        from < itemIds.size();
+        from += BULK_UPDATE_CHUNK_SIZE
+      ) {
+        int to = Math.min(from + BULK_UPDATE_CHUNK_SIZE, itemIds.size());
+        chunks.add(itemIds.subList(from, to));
+      }
+      updated =
+        Flux
+          .fromIterable(chunks)
+          .concatMap(chunk ->
+            todoItemRepository.updateStateByListIdAndIdIn(
+              listId,
+              chunk,
+              state,
+              completedDate
+            )
+          )
+          .reduce(0, Integer::sum);
+    }
+    return updated
+      .as(transactionalOperator::transactional)
+      .map(count ->
+        ResponseEntity
+          .status(HttpStatus.NO_CONTENT)
+          .header(UPDATED_COUNT_HEADER, String.valueOf(count))
+          .build()
+      );
+  }
+
+  @PutMapping("/lists/{listId}")
+  public Mono<ResponseEntity<TodoList>> updateListById(
+    @PathVariable("listId") Long listId,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    @RequestBody(required = false) TodoList todoList
+  ) {
+    if (todoList == null || !validator.validate(todoList).isEmpty()) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    return todoListRepository
+      .findById(listId)
+      .flatMap(t -> {
+        if (!ETags.matches(ifMatch, ETags.of(t.getId(), t.getVersion()))) {
+          return Mono.just(preconditionFailed().<TodoList>build());
+        }
+        t.name(todoList.getName()).description(todoList.getDescription());
+        return todoListRepository
+          .update(t)
+          .map(saved ->
+            ResponseEntity
+              .ok()
+              .eTag(ETags.of(saved.getId(), saved.getVersion()))
+              .body(saved)
+          )
+          .defaultIfEmpty(preconditionFailed().build());
+      })
+      .defaultIfEmpty(ResponseEntity.badRequest().build());
+  }
+
+  /**
+   * Answer a page of a collection. A JSON array is buffered by the encoder
+   * anyway, so it is tagged and carries the next continuation token; Spring
+   * answers a matching {@code If-None-Match} with 304. NDJSON is streamed as
+   * it is read.
+   */
+  private static <T> Mono<ResponseEntity<Flux<T>>> page(
+    ServerHttpRequest request,
+    Flux<T> content,
+    int size,
+    Function<T, Long> id,
+    Function<T, Long> version
+  ) {
+    if (streaming(request)) {
+      return Mono.just(ResponseEntity.ok().body(content));
+    }
+    return content
+      .collectList()
+      .map(elements -> {
+        ResponseEntity.BodyBuilder response = ResponseEntity
+          .ok()
+          .eTag(ETags.of(elements, id, version))
+          .cacheControl(CacheControl.noCache());
+        String next = ContinuationToken.next(elements, size, id);
+        if (next != null) {
+          response.header(ContinuationToken.HEADER, next);
+        }
+        return response.body(Flux.fromIterable(elements));
+      });
+  }
+
+  /**
+   * Whether the client prefers NDJSON over a JSON array.
+   */
+  private static boolean streaming(ServerHttpRequest request) {
+    List<MediaType> accept = new ArrayList<>(request.getHeaders().getAccept());
+    MediaType.sortBySpecificityAndQuality(accept);
+    for (MediaType type : accept) {
+      if (type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+        return true;
+      }
+      if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static Long lastId(String continuationToken) {
+    return ContinuationToken
+      .decode(continuationToken)
+      .orElseThrow(() ->
+        new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Invalid continuation token"
+        )
+      );
+  }
+
+  private static URI location(ServerHttpRequest request, Long id) {
+    return UriComponentsBuilder
+      .fromHttpRequest(request)
+      .path("/{id}")
+      .buildAndExpand(id)
+      .toUri();
+  }
+
+  private static ResponseEntity.BodyBuilder preconditionFailed() {
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+  }
+
+  private static ResponseEntity<Void> noContent() {
+    return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+  }
+
+  private static ResponseEntity<Void> notFound() {
+    return ResponseEntity.notFound().build();
+  }
+}
@@ -0,0 +1,39 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.service.TodoItemSearchIndex;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin endpoint for the item search index.
+ * <p>
+ * Exposed over JMX only, as the {@code searchindex} MBean of the
+ * {@code org.springframework.boot} domain: its read operation returns the
+ * number of indexed items, its write operation rebuilds the index from the
+ * database.
+ */
+@Component
+@Endpoint(id = "searchindex")
+@Profile("!reactive")
+public class SearchIndexEndpoint {
+
+  private final TodoItemSearchIndex todoItemSearchIndex;
+
+  public SearchIndexEndpoint(TodoItemSearchIndex todoItemSearchIndex) {
+    this.todoItemSearchIndex = todoItemSearchIndex;
+  }
+
+  @ReadOperation
+  public Map<String, Integer> size() {
+    return Map.of("items", todoItemSearchIndex.size());
+  }
+
+  @WriteOperation
+  public Map<String, Long> rebuild() {
+    return Map.of("indexed", todoItemSearchIndex.rebuild());
+  }
+}
@@ -0,0 +1,490 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoBatchOperation;
+import co.mz.insurance.mk.model.TodoBatchResult;
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoList;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.repository.TodoListRepository;
+import co.mz.insurance.mk.repository.TodoListStateCountRepository;
+import co.mz.insurance.mk.service.TodoItemPurgeService;
+import co.mz.insurance.mk.service.TodoOutbox;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Runs an ordered array of Todo list and item operations in one request and
+ * one transaction, so bulk actions take a single round trip.
+ */
+@RestController
+@Profile("!reactive")
+public class TodoBatchController {
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoItemRepository todoItemRepository;
+
+  private final TodoListStateCountRepository todoListStateCountRepository;
+
+  private final TodoItemPurgeService todoItemPurgeService;
+
+  private final TodoOutbox todoOutbox;
+
+  private final EntityManager entityManager;
+
+  private final Validator validator;
+
+  private final TransactionTemplate transaction;
+
+  private final int maxOperations;
+
+  public TodoBatchController(
+    TodoListRepository todoListRepository,
+    TodoItemRepository todoItemRepository,
+    TodoListStateCountRepository todoListStateCountRepository,
+    TodoItemPurgeService todoItemPurgeService,
+    TodoOutbox todoOutbox,
+    EntityManager entityManager,
+    Validator validator,
+    PlatformTransactionManager transactionManager,
+    @Value("${todo.batch.max-operations}") int maxOperations
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoItemRepository = todoItemRepository;
+    this.todoListStateCountRepository = todoListStateCountRepository;
+    this.todoItemPurgeService = todoItemPurgeService;
+    this.todoOutbox = todoOutbox;
+    this.entityManager = entityManager;
+    this.validator = validator;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.maxOperations = maxOperations;
+  }
+
+  /**
+   * POST /batch : Creates, updates and deletes Todo lists and items at once
+   * <p>
+   * Operations run in order. An item operation names its list in
+   * {@code listId}, which may be {@code $n} for the list created by operation
+   * n. The writes reach the database in JDBC batches when the transaction
+   * commits, and the counter and outbox updates of the whole batch are sent
+   * together. If any operation fails, none is applied and the response
+   * carries that operation's status and result alone.
+   *
+   * @param operations The operations to run (required)
+   * @return The result of each operation, in order (status code 200)
+   * or The batch is empty, longer than {@code todo.batch.max-operations} or
+   * one of its operations is invalid (status code 400)
+   * or A Todo list or item was not found (status code 404)
+   * or A Todo list or item was modified concurrently (status code 412)
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<TodoBatchResult>> executeBatch(
+    @RequestBody(required = false) List<TodoBatchOperation> operations
+  ) {
+    if (
+      operations == null ||
+      operations.isEmpty() ||
+      operations.size() > maxOperations
+    ) {
+      return ResponseEntity.badRequest().build();
+    }
+    Batch batch = new Batch(operations.size());
+    transaction.executeWithoutResult(status -> {
+      if (batch.run(operations)) {
+        batch.finish();
+      } else {
+        status.setRollbackOnly();
+      }
+    });
+    if (batch.failure != null) {
+      return ResponseEntity
+        .status(batch.failure.getStatus())
+        .body(List.of(batch.failure));
+    }
+    return ResponseEntity.ok(batch.results);
+  }
+
+  /**
+   * A concurrent update slipped in between the {@code ifMatch} checks and the
+   * flush at the end of the batch.
+   */
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public ResponseEntity<Void> handleOptimisticLockingFailure() {
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+  }
+
+  /**
+   * State of one batch: the results so far and the counter and outbox
+   * updates held back until all operations have succeeded.
+   */
+  private final class Batch {
+
+    private final List<TodoBatchResult> results;
+
+    private final Map<Integer, Long> createdListIds = new HashMap<>();
+
+    private final Set<Long> existingListIds = new HashSet<>();
+
+    private final Map<Long, Map<TodoState, Long>> counterDeltas =
+      new HashMap<>();
+
+    private final List<TodoChangeEvent> events = new ArrayList<>();
+
+    private TodoBatchResult failure;
+
+    Batch(int size) {
+      this.results = new ArrayList<>(size);
+    }
+
+    /**
+     * @return whether every operation succeeded
+     */
+    boolean run(List<TodoBatchOperation> operations) {
+      for (int index = 0; index < operations.size(); index++) {
+        TodoBatchResult result = run(index, operations.get(index));
+        result.setIndex(index);
+        if (result.getStatus() >= HttpStatus.BAD_REQUEST.value()) {
+          failure = result;
+          return false;
+        }
+        results.add(result);
+      }
+      return true;
+    }
+
+    /**
+     * Write everything out, then tag the results with the versions written.
+     */
+    void finish() {
+      entityManager.flush();
+      todoListStateCountRepository.addAll(counterDeltas);
+      todoOutbox.appendAll(events);
+      for (TodoBatchResult result : results) {
+        if (result.getItem() != null) {
+          TodoItem item = result.getItem();
+          result.setEtag(ETags.of(item.getId(), item.getVersion()));
+        } else if (result.getList() != null) {
+          TodoList list = result.getList();
+          result.setEtag(ETags.of(list.getId(), list.getVersion()));
+        }
+      }
+    }
+
+    private TodoBatchResult run(int index, TodoBatchOperation operation) {
+      boolean onItem =
+        operation.getItemId() != null || operation.getItem() != null;
+      String op = operation.getOp() == null ? "" : operation.getOp();
+      switch (op) {
+        case TodoBatchOperation.CREATE:
+          return onItem ? createItem(operation) : createList(index, operation);
+        case TodoBatchOperation.UPDATE:
+          return onItem ? updateItem(operation) : updateList(operation);
+        case TodoBatchOperation.DELETE:
+          return onItem ? deleteItem(operation) : deleteList(operation);
+        default:
+          return rejected(
+            HttpStatus.BAD_REQUEST,
+            "op must be create, update or delete"
+          );
+      }
+    }
+
+    private TodoBatchResult createList(int index, TodoBatchOperation op) {
+      TodoList list = op.getList();
+      String violation = violation(list);
+      if (violation != null) {
+        return rejected(HttpStatus.BAD_REQUEST, violation);
+      }
+      list.setId(null);
+      list.setVersion(null);
+      TodoList savedList = todoListRepository.save(list);
+      todoListStateCountRepository.initialize(savedList.getId());
+      createdListIds.put(index, savedList.getId());
+      existingListIds.add(savedList.getId());
+      events.add(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.LIST_CREATED)
+          .listId(savedList.getId())
+          .list(savedList)
+      );
+      return new TodoBatchResult()
+        .status(HttpStatus.CREATED.value())
+        .id(savedList.getId())
+        .list(savedList);
+    }
+
+    private TodoBatchResult updateList(TodoBatchOperation op) {
+      TodoList values = op.getList();
+      String violation = violation(values);
+      if (violation != null) {
+        return rejected(HttpStatus.BAD_REQUEST, violation);
+      }
+      Optional<TodoList> found = findList(op);
+      if (found.isEmpty()) {
+        return rejected(HttpStatus.NOT_FOUND, "list not found");
+      }
+      TodoList list = found.get();
+      if (!matches(op, list.getId(), list.getVersion())) {
+        return rejected(HttpStatus.PRECONDITION_FAILED, "list was modified");
+      }
+      list.name(values.getName()).description(values.getDescription());
+      events.add(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.LIST_UPDATED)
+          .listId(list.getId())
+          .list(list)
+      );
+      return new TodoBatchResult()
+        .status(HttpStatus.OK.value())
+        .id(list.getId())
+        .list(list);
+    }
+
+    /**
+     * Delete a list with its items. The items are removed with a bulk
+     * statement, which flushes the writes of the earlier operations first.
+     */
+    private TodoBatchResult deleteList(TodoBatchOperation op) {
+      Optional<TodoList> found = findList(op);
+      if (found.isEmpty()) {
+        return rejected(HttpStatus.NOT_FOUND, "list not found");
+      }
+      TodoList list = found.get();
+      Long listId = list.getId();
+      if (!matches(op, listId, list.getVersion())) {
+        return rejected(HttpStatus.PRECONDITION_FAILED, "list was modified");
+      }
+      todoListRepository.delete(list);
+      todoItemPurgeService.deleteItemsOf(listId);
+      todoListStateCountRepository.deleteByListId(listId);
+      counterDeltas.remove(listId);
+      existingListIds.remove(listId);
+      events.add(
+        new TodoChangeEvent().type(TodoChangeEvent.LIST_DELETED).listId(listId)
+      );
+      return new TodoBatchResult()
+        .status(HttpStatus.NO_CONTENT.value())
+        .id(listId);
+    }
+
+    private TodoBatchResult createItem(TodoBatchOperation op) {
+      TodoItem item = op.getItem();
+      Long listId = listId(op);
+      if (listId == null || !listExists(listId)) {
+        return rejected(HttpStatus.NOT_FOUND, "list not found");
+      }
+      if (item != null) {
+        // Set before validating, the body of a create has no list id
+        item.setId(null);
+        item.setVersion(null);
+        item.setListId(listId);
+      }
+      String violation = violation(item);
+      if (violation != null) {
+        return rejected(HttpStatus.BAD_REQUEST, violation);
+      }
+      TodoItem savedItem = todoItemRepository.save(item);
+      count(listId, savedItem.getState(), 1);
+      events.add(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.ITEM_CREATED)
+          .listId(listId)
+          .itemId(savedItem.getId())
+          .item(savedItem)
+      );
+      return new TodoBatchResult()
+        .status(HttpStatus.CREATED.value())
+        .id(savedItem.getId())
+        .item(savedItem);
+    }
+
+    private TodoBatchResult updateItem(TodoBatchOperation op) {
+      TodoItem values = op.getItem();
+      Optional<TodoItem> found = findItem(op);
+      if (found.isEmpty()) {
+        return rejected(HttpStatus.NOT_FOUND, "item not found");
+      }
+      TodoItem item = found.get();
+      if (!matches(op, item.getId(), item.getVersion())) {
+        return rejected(HttpStatus.PRECONDITION_FAILED, "item was modified");
+      }
+      if (values != null) {
+        values.setId(item.getId());
+        values.setVersion(item.getVersion());
+        values.setListId(item.getListId());
+      }
+      String violation = violation(values);
+      if (violation != null) {
+        return rejected(HttpStatus.BAD_REQUEST, violation);
+      }
+      TodoState previousState = item.getState();
+      item
+        .name(values.getName())
+        .description(values.getDescription())
+        .state(values.getState())
+        .dueDate(values.getDueDate())
+        .completedDate(values.getCompletedDate());
+      if (previousState != item.getState()) {
+        count(item.getListId(), previousState, -1);
+        count(item.getListId(), item.getState(), 1);
+      }
+      events.add(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.ITEM_UPDATED)
+          .listId(item.getListId())
+          .itemId(item.getId())
+          .item(item)
+      );
+      return new TodoBatchResult()
+        .status(HttpStatus.OK.value())
+        .id(item.getId())
+        .item(item);
+    }
+
+    private TodoBatchResult deleteItem(TodoBatchOperation op) {
+      Optional<TodoItem> found = findItem(op);
+      if (found.isEmpty()) {
+        return rejected(HttpStatus.NOT_FOUND, "item not found");
+      }
+      TodoItem item = found.get();
+      if (!matches(op, item.getId(), item.getVersion())) {
+        return rejected(HttpStatus.PRECONDITION_FAILED, "item was modified");
+      }
+      todoItemRepository.delete(item);
+      count(item.getListId(), item.getState(), -1);
+      events.add(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.ITEM_DELETED)
+          .listId(item.getListId())
+          .itemId(item.getId())
+      );
+      return new TodoBatchResult()
+        .status(HttpStatus.NO_CONTENT.value())
+        .id(item.getId());
+    }
+
+    /**
+     * The list an operation targets, resolving {@code $n} references to
+     * lists created earlier in the batch.
+     *
+     * @return the list id, or null if it is missing or malformed
+     */
+    private Long listId(TodoBatchOperation op) {
+      String listId = op.getListId();
+      if (listId == null) {
+        return null;
+      }
+      if (listId.startsWith(TodoBatchOperation.REFERENCE_PREFIX)) {
+        Long index = parseLong(
+          listId.substring(TodoBatchOperation.REFERENCE_PREFIX.length())
+        );
+        return index == null ? null : createdListIds.get(index.intValue());
+      }
+      return parseLong(listId);
+    }
+
+    /**
+     * Check that a list exists, querying each list at most once per batch.
+     */
+    private boolean listExists(Long listId) {
+      if (existingListIds.contains(listId)) {
+        return true;
+      }
+      if (todoListRepository.existsById(listId)) {
+        existingListIds.add(listId);
+        return true;
+      }
+      return false;
+    }
+
+    private Optional<TodoList> findList(TodoBatchOperation op) {
+      Long listId = listId(op);
+      return listId == null
+        ? Optional.empty()
+        : todoListRepository.findById(listId);
+    }
+
+    /**
+     * Load an item by id, which unlike a query does not flush the writes
+     * queued so far, and check that it belongs to the list.
+     */
+    private Optional<TodoItem> findItem(TodoBatchOperation op) {
+      Long listId = listId(op);
+      Long itemId = parseLong(op.getItemId());
+      if (listId == null || itemId == null) {
+        return Optional.empty();
+      }
+      return todoItemRepository
+        .findById(itemId)
+        .filter(item -> listId.equals(item.getListId()));
+    }
+
+    private void count(Long listId, TodoState state, long delta) {
+      if (state != null) {
+        counterDeltas
+          .computeIfAbsent(listId, id -> new EnumMap<>(TodoState.class))
+          .merge(state, delta, Long::sum);
+      }
+    }
+  }
+
+  /**
+   * Check the constraints declared on a list or item.
+   *
+   * @return a description of the first violation, or null if it is valid
+   */
+  private String violation(Object entity) {
+    if (entity == null) {
+      return "list or item is required";
+    }
+    for (ConstraintViolation<Object> violation : validator.validate(entity)) {
+      return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+    return null;
+  }
+
+  private static boolean matches(
+    TodoBatchOperation op,
+    Long id,
+    Long version
+  ) {
+    return ETags.matches(op.getIfMatch(), ETags.of(id, version));
+  }
+
+  private static TodoBatchResult rejected(HttpStatus status, String message) {
+    return new TodoBatchResult().status(status.value()).message(message);
+  }
+
+  private static Long parseLong(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.repository.TodoListRepository;
+import co.mz.insurance.mk.service.TodoChangeFeed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events feeds of committed changes, so clients can update their
+ * view instead of polling. Browsers resume a dropped feed by sending the id of
+ * the last event received in the {@code Last-Event-ID} header.
+ */
+@RestController
+@Profile("!reactive")
+public class TodoChangeFeedController {
+
+  private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoChangeFeed todoChangeFeed;
+
+  public TodoChangeFeedController(
+    TodoListRepository todoListRepository,
+    TodoChangeFeed todoChangeFeed
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoChangeFeed = todoChangeFeed;
+  }
+
+  /**
+   * GET /changes : Streams the changes to all Todo lists and items
+   *
+   * @param lastEventId The id of the last event received (optional)
+   * @return A stream of change events (status code 200)
+   */
+  @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter getChanges(
+    @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId
+  ) {
+    return todoChangeFeed.subscribe(null, lastEventId);
+  }
+
+  /**
+   * GET /lists/{listId}/changes : Streams the changes to a Todo list and its items
+   *
+   * @param listId      The Todo list unique identifier (required)
+   * @param lastEventId The id of the last event received (optional)
+   * @return A stream of change events (status code 200)
+   * or Todo list not found (status code 404)
+   */
+  @GetMapping(
+    path = "/lists/{listId}/changes",
+    produces = MediaType.TEXT_EVENT_STREAM_VALUE
+  )
+  public ResponseEntity<SseEmitter> getChangesByListId(
+    @PathVariable("listId") Long listId,
+    @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId
+  ) {
+    if (!todoListRepository.existsById(listId)) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(todoChangeFeed.subscribe(listId, lastEventId));
+  }
+}
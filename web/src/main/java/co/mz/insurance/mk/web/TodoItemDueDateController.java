@@ -0,0 +1,157 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.repository.TodoListRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import javax.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Todo items by due date, ordered by due date then id and paged with the
+ * continuation token returned in the {@code X-Continuation-Token} header.
+ */
+@RestController
+@Profile("!reactive")
+public class TodoItemDueDateController {
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoItemRepository todoItemRepository;
+
+  public TodoItemDueDateController(
+    TodoListRepository todoListRepository,
+    TodoItemRepository todoItemRepository
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoItemRepository = todoItemRepository;
+  }
+
+  /**
+   * GET /lists/{listId}/items/due : Gets the Todo items of a list due within a period
+   *
+   * @param listId            The Todo list unique identifier (required)
+   * @param from              The start of the period, inclusive (optional)
+   * @param to                The end of the period, exclusive (optional)
+   * @param state             The Todo item state (optional)
+   * @param top               The max number of items to returns in a result (optional)
+   * @param continuationToken The token returned with the previous page (optional)
+   * @return An array of Todo items (status code 200)
+   * or Invalid continuation token (status code 400)
+   * or Todo list not found (status code 404)
+   */
+  @GetMapping("/lists/{listId}/items/due")
+  public ResponseEntity<List<TodoItem>> getItemsByListIdAndDueDate(
+    @PathVariable("listId") Long listId,
+    @RequestParam(value = "from", required = false) @DateTimeFormat(
+      iso = DateTimeFormat.ISO.DATE_TIME
+    ) OffsetDateTime from,
+    @RequestParam(value = "to", required = false) @DateTimeFormat(
+      iso = DateTimeFormat.ISO.DATE_TIME
+    ) OffsetDateTime to,
+    @RequestParam(value = "state", required = false) TodoState state,
+    @Valid @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken
+  ) {
+    if (!todoListRepository.existsById(listId)) {
+      return ResponseEntity.notFound().build();
+    }
+    int size = top.intValue();
+    return page(
+      continuationToken,
+      size,
+      (afterDueDate, afterId) ->
+        todoItemRepository.findByDueDate(
+          listId,
+          state,
+          from,
+          to,
+          afterDueDate,
+          afterId,
+          size
+        )
+    );
+  }
+
+  /**
+   * GET /items/overdue : Gets the Todo items not done whose due date has passed
+   *
+   * @param listId            The Todo list unique identifier (optional)
+   * @param top               The max number of items to returns in a result (optional)
+   * @param continuationToken The token returned with the previous page (optional)
+   * @return An array of Todo items, longest overdue first (status code 200)
+   * or Invalid continuation token (status code 400)
+   */
+  @GetMapping("/items/overdue")
+  public ResponseEntity<List<TodoItem>> getOverdueItems(
+    @RequestParam(value = "listId", required = false) Long listId,
+    @Valid @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken
+  ) {
+    OffsetDateTime now = OffsetDateTime.now();
+    int size = top.intValue();
+    return page(
+      continuationToken,
+      size,
+      (afterDueDate, afterId) ->
+        todoItemRepository.findOverdue(now, listId, afterDueDate, afterId, size)
+    );
+  }
+
+  /**
+   * Run the query from the position in the continuation token, or from the
+   * start without one, and return the page with the token for the next one.
+   */
+  private static ResponseEntity<List<TodoItem>> page(
+    String continuationToken,
+    int size,
+    BiFunction<OffsetDateTime, Long, List<TodoItem>> query
+  ) {
+    if (continuationToken == null) {
+      return page(query.apply(null, null), size);
+    }
+    return ContinuationToken
+      .decodeDueDate(continuationToken)
+      .map(after -> page(query.apply(after.getDueDate(), after.getId()), size))
+      .orElseGet(() -> ResponseEntity.badRequest().build());
+  }
+
+  private static ResponseEntity<List<TodoItem>> page(
+    List<TodoItem> content,
+    int size
+  ) {
+    ResponseEntity.BodyBuilder response = ResponseEntity
+      .ok()
+      .cacheControl(CacheControl.noCache());
+    String next = ContinuationToken.nextByDueDate(content, size);
+    if (next != null) {
+      response.header(ContinuationToken.HEADER, next);
+    }
+    return response.body(content);
+  }
+}
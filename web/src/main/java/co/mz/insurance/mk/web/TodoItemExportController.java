@@ -0,0 +1,104 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.repository.TodoListRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@Profile("!reactive")
+public class TodoItemExportController {
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoItemRepository todoItemRepository;
+
+  private final EntityManager entityManager;
+
+  private final ObjectMapper objectMapper;
+
+  private final ObjectWriter itemWriter;
+
+  private final TransactionTemplate readOnlyTransaction;
+
+  public TodoItemExportController(
+    TodoListRepository todoListRepository,
+    TodoItemRepository todoItemRepository,
+    EntityManager entityManager,
+    ObjectMapper objectMapper,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoItemRepository = todoItemRepository;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.itemWriter =
+      objectMapper
+        .writerFor(TodoItem.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * GET /lists/{listId}/items/export : Streams every Todo item of a list as newline-delimited JSON
+   * <p>
+   * Items are read from a database cursor and detached once written, so memory
+   * use does not grow with the size of the list.
+   *
+   * @param listId The Todo list unique identifier (required)
+   * @return The Todo items, one JSON document per line (status code 200)
+   * or Todo list not found (status code 404)
+   */
+  @GetMapping(path = "/lists/{listId}/items/export")
+  public ResponseEntity<StreamingResponseBody> exportItemsByListId(
+    @PathVariable("listId") Long listId
+  ) {
+    if (!todoListRepository.existsById(listId)) {
+      return ResponseEntity.notFound().build();
+    }
+    StreamingResponseBody body = out ->
+      readOnlyTransaction.executeWithoutResult(status -> write(listId, out));
+    return ResponseEntity
+      .ok()
+      .contentType(MediaType.APPLICATION_NDJSON)
+      .body(body);
+  }
+
+  private void write(Long listId, OutputStream out) {
+    try (
+      Stream<TodoItem> items = todoItemRepository.streamByListId(listId);
+      JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+    ) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      Iterator<TodoItem> iterator = items.iterator();
+      while (iterator.hasNext()) {
+        TodoItem item = iterator.next();
+        itemWriter.writeValue(generator, item);
+        generator.writeRaw('\n');
+        entityManager.detach(item);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.ImportResult;
+import co.mz.insurance.mk.model.TodoChangeEvent;
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoListRepository;
+import co.mz.insurance.mk.repository.TodoListStateCountRepository;
+import co.mz.insurance.mk.service.TodoOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+public class TodoItemImportController {
+
+  static final String TEXT_CSV_VALUE = "text/csv";
+
+  /**
+   * Rows persisted per transaction. A multiple of the JDBC batch size, so
+   * each flush sends full insert batches.
+   */
+  private static final int BATCH_SIZE = 500;
+
+  /**
+   * Rejected rows beyond this are only counted, to keep the response bounded.
+   */
+  private static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoListStateCountRepository todoListStateCountRepository;
+
+  private final TodoOutbox todoOutbox;
+
+  private final EntityManager entityManager;
+
+  private final ObjectReader itemReader;
+
+  private final TransactionTemplate transaction;
+
+  private final Validator validator;
+
+  public TodoItemImportController(
+    TodoListRepository todoListRepository,
+    TodoListStateCountRepository todoListStateCountRepository,
+    TodoOutbox todoOutbox,
+    EntityManager entityManager,
+    ObjectMapper objectMapper,
+    PlatformTransactionManager transactionManager,
+    Validator validator
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoListStateCountRepository = todoListStateCountRepository;
+    this.todoOutbox = todoOutbox;
+    this.entityManager = entityManager;
+    this.itemReader = objectMapper.readerFor(TodoItem.class);
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.validator = validator;
+  }
+
+  /**
+   * POST /lists/{listId}/items/import : Imports Todo items from newline-delimited JSON
+   *
+   * @param listId The Todo list unique identifier (required)
+   * @param body   One Todo item JSON document per line (required)
+   * @return The number of imported items and the rejected rows (status code 200)
+   * or Todo list not found (status code 404)
+   */
+  @PostMapping(
+    path = "/lists/{listId}/items/import",
+    consumes = MediaType.APPLICATION_NDJSON_VALUE
+  )
+  public ResponseEntity<ImportResult> importItemsFromNdjson(
+    @PathVariable("listId") Long listId,
+    InputStream body
+  ) throws IOException {
+    return importItems(listId, body, false);
+  }
+
+  /**
+   * POST /lists/{listId}/items/import : Imports Todo items from CSV
+   * <p>
+   * The first line is a header naming the columns among {@code name},
+   * {@code description}, {@code state}, {@code dueDate} and
+   * {@code completedDate}; other columns are ignored.
+   *
+   * @param listId The Todo list unique identifier (required)
+   * @param body   A header line followed by one Todo item per line (required)
+   * @return The number of imported items and the rejected rows (status code 200)
+   * or Todo list not found (status code 404)
+   */
+  @PostMapping(
+    path = "/lists/{listId}/items/import",
+    consumes = TEXT_CSV_VALUE
+  )
+  public ResponseEntity<ImportResult> importItemsFromCsv(
+    @PathVariable("listId") Long listId,
+    InputStream body
+  ) throws IOException {
+    return importItems(listId, body, true);
+  }
+
+  private ResponseEntity<ImportResult> importItems(
+    Long listId,
+    InputStream body,
+    boolean csv
+  ) throws IOException {
+    if (!todoListRepository.existsById(listId)) {
+      return ResponseEntity.notFound().build();
+    }
+    ImportResult result = new ImportResult();
+    List<TodoItem> batch = new ArrayList<>(BATCH_SIZE);
+    List<Long> batchLines = new ArrayList<>(BATCH_SIZE);
+    try (
+      BufferedReader reader = new BufferedReader(
+        new InputStreamReader(body, StandardCharsets.UTF_8)
+      )
+    ) {
+      long line = 0;
+      List<String> header = null;
+      String text;
+      while ((text = reader.readLine()) != null) {
+        line++;
+        if (text.isBlank()) {
+          continue;
+        }
+        if (csv && header == null) {
+          header = CsvLineParser.parse(text);
+          continue;
+        }
+        TodoItem item;
+        try {
+          item = csv ? fromCsv(header, text) : itemReader.readValue(text);
+        } catch (IOException | RuntimeException e) {
+          reject(result, line, e.getMessage());
+          continue;
+        }
+        item.setId(null);
+        item.setVersion(null);
+        item.setListId(listId);
+        String violation = validate(item);
+        if (violation != null) {
+          reject(result, line, violation);
+          continue;
+        }
+        batch.add(item);
+        batchLines.add(line);
+        if (batch.size() == BATCH_SIZE) {
+          persist(batch, batchLines, result);
+        }
+      }
+    }
+    persist(batch, batchLines, result);
+    return ResponseEntity.ok(result);
+  }
+
+  /**
+   * Insert a batch in its own transaction, so a failing batch does not undo
+   * the rows already imported, then release it from the persistence context.
+   * The list's state counters are moved once per batch, in the same
+   * transaction. When the database rejects the batch, its rows are inserted
+   * one by one so that only the failing ones are rejected.
+   */
+  private void persist(
+    List<TodoItem> batch,
+    List<Long> batchLines,
+    ImportResult result
+  ) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      insert(batch);
+      result.setImported(result.getImported() + batch.size());
+    } catch (DataAccessException | PersistenceException e) {
+      for (int i = 0; i < batch.size(); i++) {
+        TodoItem item = batch.get(i);
+        // Assigned by the rolled back attempt
+        item.setId(null);
+        item.setVersion(null);
+        try {
+          insert(List.of(item));
+          result.setImported(result.getImported() + 1);
+        } catch (DataAccessException | PersistenceException rowError) {
+          reject(
+            result,
+            batchLines.get(i),
+            NestedExceptionUtils.getMostSpecificCause(rowError).getMessage()
+          );
+        }
+      }
+    } finally {
+      entityManager.clear();
+      batch.clear();
+      batchLines.clear();
+    }
+  }
+
+  private void insert(List<TodoItem> items) {
+    transaction.executeWithoutResult(status -> {
+      Map<TodoState, Long> added = new EnumMap<>(TodoState.class);
+      for (TodoItem item : items) {
+        entityManager.persist(item);
+        if (item.getState() != null) {
+          added.merge(item.getState(), 1L, Long::sum);
+        }
+      }
+      entityManager.flush();
+      Long listId = items.get(0).getListId();
+      added.forEach((state, count) ->
+        todoListStateCountRepository.add(listId, state, count)
+      );
+      List<TodoChangeEvent> events = new ArrayList<>(items.size());
+      for (TodoItem item : items) {
+        events.add(
+          new TodoChangeEvent()
+            .type(TodoChangeEvent.ITEM_CREATED)
+            .listId(listId)
+            .itemId(item.getId())
+            .item(item)
+        );
+      }
+      todoOutbox.appendAll(events);
+    });
+  }
+
+  private static TodoItem fromCsv(List<String> header, String line) {
+    List<String> fields = CsvLineParser.parse(line);
+    TodoItem item = new TodoItem();
+    for (int i = 0; i < header.size() && i < fields.size(); i++) {
+      String value = fields.get(i);
+      switch (header.get(i).trim()) {
+        case "name":
+          item.setName(value);
+          break;
+        case "description":
+          item.setDescription(value);
+          break;
+        case "state":
+          item.setState(value.isEmpty() ? null : TodoState.fromValue(value));
+          break;
+        case "dueDate":
+          if (!value.isEmpty()) {
+            item.setDueDate(OffsetDateTime.parse(value));
+          }
+          break;
+        case "completedDate":
+          item.setCompletedDate(
+            value.isEmpty() ? null : OffsetDateTime.parse(value)
+          );
+          break;
+        default:
+          break;
+      }
+    }
+    return item;
+  }
+
+  /**
+   * Check the constraints declared on {@link TodoItem}.
+   *
+   * @return a description of the first violation, or null if the item is valid
+   */
+  private String validate(TodoItem item) {
+    for (ConstraintViolation<TodoItem> violation : validator.validate(item)) {
+      return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+    return null;
+  }
+
+  private static void reject(ImportResult result, long line, String message) {
+    result.setFailed(result.getFailed() + 1);
+    if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+      result.getErrors().add(new ImportResult.RowError(line, message));
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoItem;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoItemRepository;
+import co.mz.insurance.mk.repository.TodoListRepository;
+import co.mz.insurance.mk.service.TodoItemSearchIndex;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+public class TodoItemSearchController {
+
+  /**
+   * Suggested wait while the search index is rebuilt after start-up.
+   */
+  private static final String RETRY_AFTER_SECONDS = "5";
+
+  private static final BigDecimal MAX_RESULT_WINDOW = BigDecimal.valueOf(
+    TodoItemSearchIndex.MAX_RESULT_WINDOW
+  );
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoItemRepository todoItemRepository;
+
+  private final TodoItemSearchIndex todoItemSearchIndex;
+
+  public TodoItemSearchController(
+    TodoListRepository todoListRepository,
+    TodoItemRepository todoItemRepository,
+    TodoItemSearchIndex todoItemSearchIndex
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoItemRepository = todoItemRepository;
+    this.todoItemSearchIndex = todoItemSearchIndex;
+  }
+
+  /**
+   * GET /items/search : Searches Todo items of all lists by name and description
+   *
+   * @param q      The text to search for (required)
+   * @param listId The Todo list to search in (optional)
+   * @param state  The Todo item state (optional)
+   * @param top    The max number of items to returns in a result (optional)
+   * @param skip   The number of items to skip within the results (optional)
+   * @return An array of Todo items, best match first (status code 200)
+   * or Invalid search request (status code 400)
+   * or Search index not ready yet (status code 503)
+   */
+  @GetMapping("/items/search")
+  public ResponseEntity<List<TodoItem>> searchItems(
+    @RequestParam("q") String q,
+    @RequestParam(value = "listId", required = false) Long listId,
+    @RequestParam(value = "state", required = false) TodoState state,
+    @Valid @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @Valid @RequestParam(
+      value = "skip",
+      required = false,
+      defaultValue = "0"
+    ) BigDecimal skip
+  ) {
+    return search(q, listId, state, top, skip);
+  }
+
+  /**
+   * GET /lists/{listId}/items/search : Searches Todo items within a list by name and description
+   *
+   * @param listId The Todo list unique identifier (required)
+   * @param q      The text to search for (required)
+   * @param state  The Todo item state (optional)
+   * @param top    The max number of items to returns in a result (optional)
+   * @param skip   The number of items to skip within the results (optional)
+   * @return An array of Todo items, best match first (status code 200)
+   * or Invalid search request (status code 400)
+   * or Todo list not found (status code 404)
+   * or Search index not ready yet (status code 503)
+   */
+  @GetMapping("/lists/{listId}/items/search")
+  public ResponseEntity<List<TodoItem>> searchItemsByListId(
+    @PathVariable("listId") Long listId,
+    @RequestParam("q") String q,
+    @RequestParam(value = "state", required = false) TodoState state,
+    @Valid @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @Valid @RequestParam(
+      value = "skip",
+      required = false,
+      defaultValue = "0"
+    ) BigDecimal skip
+  ) {
+    if (!todoListRepository.existsById(listId)) {
+      return ResponseEntity.notFound().build();
+    }
+    return search(q, listId, state, top, skip);
+  }
+
+  private ResponseEntity<List<TodoItem>> search(
+    String q,
+    Long listId,
+    TodoState state,
+    BigDecimal top,
+    BigDecimal skip
+  ) {
+    // Checked before narrowing, so huge values neither wrap nor overflow
+    if (
+      q.isBlank() ||
+      top.compareTo(BigDecimal.ONE) < 0 ||
+      skip.signum() < 0 ||
+      skip.add(top).compareTo(MAX_RESULT_WINDOW) > 0
+    ) {
+      return ResponseEntity.badRequest().build();
+    }
+    if (!todoItemSearchIndex.isReady()) {
+      return ResponseEntity
+        .status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+        .build();
+    }
+    List<Long> ids = todoItemSearchIndex.search(
+      q,
+      listId,
+      state,
+      skip.intValue(),
+      top.intValue()
+    );
+    Map<Long, TodoItem> items = new HashMap<>(ids.size());
+    for (TodoItem item : todoItemRepository.findAllById(ids)) {
+      items.put(item.getId(), item);
+    }
+    List<TodoItem> ranked = new ArrayList<>(items.size());
+    for (Long id : ids) {
+      TodoItem item = items.get(id);
+      if (item != null) {
+        ranked.add(item);
+      }
+    }
+    return ResponseEntity.ok(ranked);
+  }
+}
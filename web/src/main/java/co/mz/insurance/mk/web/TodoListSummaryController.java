@@ -0,0 +1,148 @@
+package co.mz.insurance.mk.web;
+
+import co.mz.insurance.mk.model.TodoList;
+import co.mz.insurance.mk.model.TodoListSummary;
+import co.mz.insurance.mk.model.TodoState;
+import co.mz.insurance.mk.repository.TodoListRepository;
+import co.mz.insurance.mk.repository.TodoListStateCountRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Todo lists with their item counts per state, read from the precomputed
+ * counters rather than from the items.
+ */
+@RestController
+@Profile("!reactive")
+public class TodoListSummaryController {
+
+  private static final Sort BY_ID = Sort.by("id");
+
+  private final TodoListRepository todoListRepository;
+
+  private final TodoListStateCountRepository todoListStateCountRepository;
+
+  public TodoListSummaryController(
+    TodoListRepository todoListRepository,
+    TodoListStateCountRepository todoListStateCountRepository
+  ) {
+    this.todoListRepository = todoListRepository;
+    this.todoListStateCountRepository = todoListStateCountRepository;
+  }
+
+  /**
+   * GET /lists/summary : Gets an array of Todo lists with their item counts
+   *
+   * @param top               The max number of lists to returns in a result (optional)
+   * @param skip              The number of lists to skip within the results (optional)
+   * @param continuationToken The token returned with the previous page (optional)
+   * @return An array of Todo list summaries (status code 200)
+   * or Invalid continuation token (status code 400)
+   */
+  @GetMapping("/lists/summary")
+  public ResponseEntity<List<TodoListSummary>> getListSummaries(
+    @Valid @RequestParam(
+      value = "top",
+      required = false,
+      defaultValue = "20"
+    ) BigDecimal top,
+    @Valid @RequestParam(
+      value = "skip",
+      required = false,
+      defaultValue = "0"
+    ) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken
+  ) {
+    int size = top.intValue();
+    List<TodoList> lists;
+    if (continuationToken == null) {
+      lists =
+        todoListRepository
+          .findAll(PageRequest.of(skip.intValue(), size, BY_ID))
+          .getContent();
+    } else {
+      Long lastId = ContinuationToken.decode(continuationToken).orElse(null);
+      if (lastId == null) {
+        return ResponseEntity.badRequest().build();
+      }
+      lists =
+        todoListRepository.findByIdGreaterThanOrderByIdAsc(
+          lastId,
+          PageRequest.of(0, size)
+        );
+    }
+    List<TodoListSummary> summaries = summarize(lists);
+    ResponseEntity.BodyBuilder response = ResponseEntity
+      .ok()
+      .cacheControl(CacheControl.noCache());
+    String next = ContinuationToken.next(
+      summaries,
+      size,
+      TodoListSummary::getId
+    );
+    if (next != null) {
+      response.header(ContinuationToken.HEADER, next);
+    }
+    return response.body(summaries);
+  }
+
+  /**
+   * GET /lists/{listId}/summary : Gets a Todo list with its item counts
+   *
+   * @param listId The Todo list unique identifier (required)
+   * @return A Todo list summary (status code 200)
+   * or Todo list not found (status code 404)
+   */
+  @GetMapping("/lists/{listId}/summary")
+  public ResponseEntity<TodoListSummary> getListSummaryById(
+    @PathVariable("listId") Long listId
+  ) {
+    return todoListRepository
+      .findById(listId)
+      .map(t -> ResponseEntity.ok(summarize(List.of(t)).get(0)))
+      .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  private List<TodoListSummary> summarize(List<TodoList> lists) {
+    List<Long> listIds = lists
+      .stream()
+      .map(TodoList::getId)
+      .collect(Collectors.toList());
+    Map<Long, Map<TodoState, Long>> counts = todoListStateCountRepository.findByListIdIn(
+      listIds
+    );
+    List<TodoListSummary> summaries = new ArrayList<>(lists.size());
+    for (TodoList list : lists) {
+      Map<TodoState, Long> listCounts = counts.getOrDefault(
+        list.getId(),
+        Collections.emptyMap()
+      );
+      summaries.add(
+        new TodoListSummary()
+          .id(list.getId())
+          .name(list.getName())
+          .todo(listCounts.getOrDefault(TodoState.TODO, 0L))
+          .inprogress(listCounts.getOrDefault(TodoState.INPROGRESS, 0L))
+          .done(listCounts.getOrDefault(TodoState.DONE, 0L))
+      );
+    }
+    return summaries;
+  }
+}
@@ -1,41 +1,107 @@
 package co.mz.insurance.mk.web;
 
+import co.mz.insurance.mk.model.TodoChangeEvent;
 import co.mz.insurance.mk.model.TodoItem;
 import co.mz.insurance.mk.model.TodoList;
 import co.mz.insurance.mk.model.TodoState;
 import co.mz.insurance.mk.repository.TodoItemRepository;
 import co.mz.insurance.mk.repository.TodoListRepository;
+import co.mz.insurance.mk.repository.TodoListStateCountRepository;
+import co.mz.insurance.mk.service.TodoItemPurgeService;
+import co.mz.insurance.mk.service.TodoOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
+@Profile("!reactive")
 public class TodoListsController {
 
+  /**
+   * Max number of item ids bound into a single bulk update statement, kept
+   * well below the bind parameter limits of H2 and PostgreSQL.
+   */
+  private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
+  private static final String UPDATED_COUNT_HEADER = "X-Updated-Count";
+
+  private static final Sort BY_ID = Sort.by("id");
+
+  private static final String MERGE_PATCH_JSON_VALUE =
+    "application/merge-patch+json";
+
+  /**
+   * Properties a merge patch cannot change; they are dropped from the patch.
+   */
+  private static final List<String> READ_ONLY_PROPERTIES = List.of(
+    "id",
+    "listId"
+  );
+
   private final TodoListRepository todoListRepository;
 
   private final TodoItemRepository todoItemRepository;
 
+  private final TodoListStateCountRepository todoListStateCountRepository;
+
+  private final TodoItemPurgeService todoItemPurgeService;
+
+  private final TodoOutbox todoOutbox;
+
+  private final ObjectMapper objectMapper;
+
+  private final Validator validator;
+
   public TodoListsController(
     TodoListRepository todoListRepository,
-    TodoItemRepository todoItemRepository
+    TodoItemRepository todoItemRepository,
+    TodoListStateCountRepository todoListStateCountRepository,
+    TodoItemPurgeService todoItemPurgeService,
+    TodoOutbox todoOutbox,
+    ObjectMapper objectMapper,
+    Validator validator
   ) {
     this.todoListRepository = todoListRepository;
     this.todoItemRepository = todoItemRepository;
+    this.todoListStateCountRepository = todoListStateCountRepository;
+    this.todoItemPurgeService = todoItemPurgeService;
+    this.todoOutbox = todoOutbox;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
   }
 
   /**
@@ -44,22 +110,41 @@ public class TodoListsController {
    * @param listId   The Todo list unique identifier (required)
    * @param todoItem The Todo Item (optional)
    * @return A Todo item result (status code 201)
+   * or Todo item is invalid (status code 400)
    * or Todo list not found (status code 404)
    */
   @PostMapping("/lists/{listId}/items")
+  @Transactional
   public ResponseEntity<TodoItem> createItem(
     @PathVariable("listId") Long listId,
-    @Valid @RequestBody(required = false) TodoItem todoItem
+    @RequestBody(required = false) TodoItem todoItem
   ) {
-    Optional<TodoList> optionalTodoList = todoListRepository.findById(listId);
-    if (optionalTodoList.isPresent()) {
+    if (todoListRepository.existsById(listId)) {
+      if (todoItem == null) {
+        return ResponseEntity.badRequest().build();
+      }
+      // Validated once it belongs to the list, as clients omit the list id
       todoItem.setListId(listId);
+      if (!validator.validate(todoItem).isEmpty()) {
+        return ResponseEntity.badRequest().build();
+      }
       TodoItem savedTodoItem = todoItemRepository.save(todoItem);
+      todoListStateCountRepository.add(listId, savedTodoItem.getState(), 1);
+      todoOutbox.append(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.ITEM_CREATED)
+          .listId(listId)
+          .itemId(savedTodoItem.getId())
+          .item(savedTodoItem)
+      );
       URI location = ServletUriComponentsBuilder.fromCurrentRequest()
         .path("/{id}")
         .buildAndExpand(savedTodoItem.getId())
         .toUri();
-      return ResponseEntity.created(location).body(savedTodoItem);
+      return ResponseEntity
+        .created(location)
+        .eTag(ETags.of(savedTodoItem.getId(), savedTodoItem.getVersion()))
+        .body(savedTodoItem);
     } else {
       return ResponseEntity.notFound().build();
     }
@@ -73,15 +158,26 @@ public class TodoListsController {
    * or Invalid request schema (status code 400)
    */
   @PostMapping("/lists")
+  @Transactional
   public ResponseEntity<TodoList> createList(
     @Valid @RequestBody(required = false) TodoList todoList
   ) {
     TodoList savedTodoList = todoListRepository.save(todoList);
+    todoListStateCountRepository.initialize(savedTodoList.getId());
+    todoOutbox.append(
+      new TodoChangeEvent()
+        .type(TodoChangeEvent.LIST_CREATED)
+        .listId(savedTodoList.getId())
+        .list(savedTodoList)
+    );
     URI location = ServletUriComponentsBuilder.fromCurrentRequest()
       .path("/{id}")
       .buildAndExpand(savedTodoList.getId())
       .toUri();
-    return ResponseEntity.created(location).body(savedTodoList);
+    return ResponseEntity
+      .created(location)
+      .eTag(ETags.of(savedTodoList.getId(), savedTodoList.getVersion()))
+      .body(savedTodoList);
   }
 
   /**
@@ -93,13 +189,23 @@ public class TodoListsController {
    * or Todo list or item not found (status code 404)
    */
   @DeleteMapping("/lists/{listId}/items/{itemId}")
+  @Transactional
   public ResponseEntity<Void> deleteItemById(
     @PathVariable("listId") Long listId,
     @PathVariable("itemId") Long itemId
   ) {
     Optional<TodoItem> todoItem = getTodoItem(listId, itemId);
-    if (todoItem.isPresent()) {
-      todoItemRepository.deleteById(itemId);
+    if (
+      todoItem.isPresent() &&
+      todoItemRepository.deleteByIdAndListId(itemId, listId) > 0
+    ) {
+      todoListStateCountRepository.add(listId, todoItem.get().getState(), -1);
+      todoOutbox.append(
+        new TodoChangeEvent()
+          .type(TodoChangeEvent.ITEM_DELETED)
+          .listId(listId)
+          .itemId(itemId)
+      );
       return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     } else {
       return ResponseEntity.notFound().build();
@@ -108,18 +214,28 @@ public class TodoListsController {
 
   /**
    * DELETE /lists/{listId} : Deletes a Todo list by unique identifier
+   * <p>
+   * The list's items are deleted with it in one statement, or in batches
+   * after the response for lists above {@code todo.lists.delete.sync-threshold}
+   * items.
    *
    * @param listId The Todo list unique identifier (required)
    * @return Todo list deleted successfully (status code 204)
    * or Todo list not found (status code 404)
    */
   @DeleteMapping("/lists/{listId}")
+  @Transactional
   public ResponseEntity<Void> deleteListById(
     @PathVariable("listId") Long listId
   ) {
     Optional<TodoList> todoList = todoListRepository.findById(listId);
     if (todoList.isPresent()) {
       todoListRepository.deleteById(listId);
+      todoItemPurgeService.deleteItemsOf(listId);
+      todoListStateCountRepository.deleteByListId(listId);
+      todoOutbox.append(
+        new TodoChangeEvent().type(TodoChangeEvent.LIST_DELETED).listId(listId)
+      );
       return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     } else {
       return ResponseEntity.notFound().build();
@@ -132,6 +248,7 @@ public class TodoListsController {
    * @param listId The Todo list unique identifier (required)
    * @param itemId The Todo list unique identifier (required)
    * @return A Todo item result (status code 200)
+   * or Todo item not modified (status code 304)
    * or Todo list or item not found (status code 404)
    */
   @GetMapping("/lists/{listId}/items/{itemId}")
@@ -140,17 +257,25 @@ public class TodoListsController {
     @PathVariable("itemId") Long itemId
   ) {
     return getTodoItem(listId, itemId)
-      .map(ResponseEntity::ok)
+      .map(t ->
+        conditional(ETags.of(t.getId(), t.getVersion()), t)
+      )
       .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
   /**
    * GET /lists/{listId}/items : Gets Todo items within the specified list
+   * <p>
+   * When a continuation token is given, the page starts right after the item
+   * it points to and {@code skip} is ignored. The token for the next page is
+   * returned in the {@code X-Continuation-Token} header.
    *
-   * @param listId The Todo list unique identifier (required)
-   * @param top    The max number of items to returns in a result (optional)
-   * @param skip   The number of items to skip within the results (optional)
+   * @param listId            The Todo list unique identifier (required)
+   * @param top               The max number of items to returns in a result (optional)
+   * @param skip              The number of items to skip within the results (optional)
+   * @param continuationToken The token returned with the previous page (optional)
    * @return An array of Todo items (status code 200)
+   * or Invalid continuation token (status code 400)
    * or Todo list not found (status code 404)
    */
 
@@ -166,29 +291,53 @@ public class TodoListsController {
       value = "skip",
       required = false,
       defaultValue = "0"
-    ) BigDecimal skip
+    ) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken
   ) {
-    Optional<TodoList> todoList = todoListRepository.findById(listId);
-    if (todoList.isPresent()) {
-      return ResponseEntity.ok(
+    if (!todoListRepository.existsById(listId)) {
+      return ResponseEntity.notFound().build();
+    }
+    if (continuationToken == null) {
+      return page(
         todoItemRepository.findByListId(
           listId,
-          PageRequest.of(skip.intValue(), top.intValue())
-        )
+          PageRequest.of(skip.intValue(), top.intValue(), BY_ID)
+        ),
+        top.intValue(),
+        TodoItem::getId,
+        TodoItem::getVersion
       );
-    } else {
-      return ResponseEntity.notFound().build();
     }
+    return ContinuationToken
+      .decode(continuationToken)
+      .map(lastId ->
+        page(
+          todoItemRepository.findByListIdAndIdGreaterThanOrderByIdAsc(
+            listId,
+            lastId,
+            PageRequest.of(0, top.intValue())
+          ),
+          top.intValue(),
+          TodoItem::getId,
+          TodoItem::getVersion
+        )
+      )
+      .orElseGet(() -> ResponseEntity.badRequest().build());
   }
 
   /**
    * GET /lists/{listId}/items/state/{state} : Gets a list of Todo items of a specific state
    *
-   * @param listId The Todo list unique identifier (required)
-   * @param state  The Todo item state (required)
-   * @param top    The max number of items to returns in a result (optional)
-   * @param skip   The number of items to skip within the results (optional)
+   * @param listId            The Todo list unique identifier (required)
+   * @param state             The Todo item state (required)
+   * @param top               The max number of items to returns in a result (optional)
+   * @param skip              The number of items to skip within the results (optional)
+   * @param continuationToken The token returned with the previous page (optional)
    * @return An array of Todo items (status code 200)
+   * or Invalid continuation token (status code 400)
    * or Todo list or item not found (status code 404)
    */
   @GetMapping("/lists/{listId}/items/state/{state}")
@@ -204,15 +353,40 @@ public class TodoListsController {
       value = "skip",
       required = false,
       defaultValue = "0"
-    ) BigDecimal skip
+    ) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken
   ) {
-    return ResponseEntity.ok(
-      todoItemRepository.findByListIdAndState(
-        listId,
-        state.name(),
-        PageRequest.of(skip.intValue(), top.intValue())
+    if (continuationToken == null) {
+      return page(
+        todoItemRepository.findByListIdAndState(
+          listId,
+          state,
+          PageRequest.of(skip.intValue(), top.intValue(), BY_ID)
+        ),
+        top.intValue(),
+        TodoItem::getId,
+        TodoItem::getVersion
+      );
+    }
+    return ContinuationToken
+      .decode(continuationToken)
+      .map(lastId ->
+        page(
+          todoItemRepository.findByListIdAndStateAndIdGreaterThanOrderByIdAsc(
+            listId,
+            state,
+            lastId,
+            PageRequest.of(0, top.intValue())
+          ),
+          top.intValue(),
+          TodoItem::getId,
+          TodoItem::getVersion
+        )
       )
-    );
+      .orElseGet(() -> ResponseEntity.badRequest().build());
   }
 
   /**
@@ -220,6 +394,7 @@ public class TodoListsController {
    *
    * @param listId The Todo list unique identifier (required)
    * @return A Todo list result (status code 200)
+   * or Todo list not modified (status code 304)
    * or Todo list not found (status code 404)
    */
   @GetMapping("/lists/{listId}")
@@ -228,21 +403,29 @@ public class TodoListsController {
   ) {
     return todoListRepository
       .findById(listId)
-      .map(ResponseEntity::ok)
+      .map(t ->
+        conditional(ETags.of(t.getId(), t.getVersion()), t)
+      )
       .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
   /**
    * GET /lists : Gets an array of Todo lists
    *
-   * @param top  The max number of items to returns in a result (optional)
-   * @param skip The number of items to skip within the results (optional)
+   * @param top               The max number of items to returns in a result (optional)
+   * @param skip              The number of items to skip within the results (optional)
+   * @param continuationToken The token returned with the previous page (optional)
    * @return An array of Todo lists (status code 200)
+   * or Invalid continuation token (status code 400)
    */
   @GetMapping("/lists")
   public ResponseEntity<List<TodoList>> getLists(
     @Valid @RequestParam(value = "top", required = false) BigDecimal top,
-    @Valid @RequestParam(value = "skip", required = false) BigDecimal skip
+    @Valid @RequestParam(value = "skip", required = false) BigDecimal skip,
+    @RequestParam(
+      value = "continuationToken",
+      required = false
+    ) String continuationToken
   ) {
     if (top == null) {
       top = new BigDecimal(20);
@@ -250,11 +433,31 @@ public class TodoListsController {
     if (skip == null) {
       skip = new BigDecimal(0);
     }
-    return ResponseEntity.ok(
-      todoListRepository
-        .findAll(PageRequest.of(skip.intValue(), top.intValue()))
-        .getContent()
-    );
+    int size = top.intValue();
+    if (continuationToken == null) {
+      return page(
+        todoListRepository
+          .findAll(PageRequest.of(skip.intValue(), size, BY_ID))
+          .getContent(),
+        size,
+        TodoList::getId,
+        TodoList::getVersion
+      );
+    }
+    return ContinuationToken
+      .decode(continuationToken)
+      .map(lastId ->
+        page(
+          todoListRepository.findByIdGreaterThanOrderByIdAsc(
+            lastId,
+            PageRequest.of(0, size)
+          ),
+          size,
+          TodoList::getId,
+          TodoList::getVersion
+        )
+      )
+      .orElseGet(() -> ResponseEntity.badRequest().build());
   }
 
   /**
@@ -262,81 +465,359 @@ public class TodoListsController {
    *
    * @param listId   The Todo list unique identifier (required)
    * @param itemId   The Todo list unique identifier (required)
+   * @param ifMatch  The entity tag the update is based on (optional)
    * @param todoItem The Todo Item (optional)
    * @return A Todo item result (status code 200)
    * or Todo item is invalid (status code 400)
    * or Todo list or item not found (status code 404)
+   * or Todo item was modified concurrently (status code 412)
    */
   @PutMapping("/lists/{listId}/items/{itemId}")
+  @Transactional
   public ResponseEntity<TodoItem> updateItemById(
     @PathVariable("listId") Long listId,
     @PathVariable("itemId") Long itemId,
-    @Valid @RequestBody(required = false) TodoItem todoItem
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    @RequestBody(required = false) TodoItem todoItem
+  ) {
+    if (todoItem == null) {
+      return ResponseEntity.badRequest().build();
+    }
+    todoItem.setListId(listId);
+    if (!validator.validate(todoItem).isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+    return getTodoItem(listId, itemId)
+      .map(t -> {
+        if (!ETags.matches(ifMatch, ETags.of(t.getId(), t.getVersion()))) {
+          return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .<TodoItem>build();
+        }
+        TodoState previousState = t.getState();
+        t
+          .name(todoItem.getName())
+          .description(todoItem.getDescription())
+          .state(todoItem.getState())
+          .dueDate(todoItem.getDueDate())
+          .completedDate(todoItem.getCompletedDate());
+        return itemUpdated(listId, previousState, t);
+      })
+      .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * PATCH /lists/{listId}/items/{itemId} : Partially updates a Todo item
+   * <p>
+   * The body is a JSON Merge Patch (RFC 7396), also accepted as plain JSON:
+   * only the properties it names are changed, and {@code null} clears one.
+   * Only the changed columns are written.
+   *
+   * @param listId  The Todo list unique identifier (required)
+   * @param itemId  The Todo list unique identifier (required)
+   * @param ifMatch The entity tag the update is based on (optional)
+   * @param patch   The changes to the Todo Item (required)
+   * @return A Todo item result (status code 200)
+   * or Todo item patch is invalid (status code 400)
+   * or Todo list or item not found (status code 404)
+   * or Todo item was modified concurrently (status code 412)
+   */
+  @PatchMapping(
+    path = "/lists/{listId}/items/{itemId}",
+    consumes = { MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE }
+  )
+  @Transactional
+  public ResponseEntity<TodoItem> patchItemById(
+    @PathVariable("listId") Long listId,
+    @PathVariable("itemId") Long itemId,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    @RequestBody ObjectNode patch
   ) {
     return getTodoItem(listId, itemId)
       .map(t -> {
-        todoItemRepository.save(todoItem);
-        return ResponseEntity.ok(todoItem);
+        if (!ETags.matches(ifMatch, ETags.of(t.getId(), t.getVersion()))) {
+          return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .<TodoItem>build();
+        }
+        TodoState previousState = t.getState();
+        if (!mergePatch(t, patch)) {
+          return ResponseEntity.badRequest().<TodoItem>build();
+        }
+        return itemUpdated(listId, previousState, t);
       })
       .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
   /**
    * PUT /lists/{listId}/items/state/{state} : Changes the state of the specified list items
+   * <p>
+   * Items are updated in bulk without being loaded; when no item ids are given
+   * every item of the list is updated. The number of rows changed is returned
+   * in the {@code X-Updated-Count} header. The list's state counters are moved
+   * by the per-state counts taken just before each chunk is updated.
    *
    * @param listId      The Todo list unique identifier (required)
    * @param state       The Todo item state (required)
-   * @param requestBody (optional)
+   * @param requestBody The Todo item unique identifiers (optional)
    * @return Todo items updated (status code 204)
    * or Update request is invalid (status code 400)
    */
   @PutMapping("/lists/{listId}/items/state/{state}")
+  @Transactional
   public ResponseEntity<Void> updateItemsStateByListId(
     @PathVariable("listId") Long listId,
     @PathVariable("state") TodoState state,
     @Valid @RequestBody(required = false) List<String> requestBody
   ) {
-    for (TodoItem todoItem : todoItemRepository.findByListId(listId)) {
-      todoItem.state(state);
-      todoItemRepository.save(todoItem);
+    OffsetDateTime completedDate = state == TodoState.DONE
+      ? OffsetDateTime.now()
+      : null;
+    int updated = 0;
+    List<String> changedIds = null;
+    if (requestBody == null) {
+      updated =
+        todoItemRepository.updateStateByListId(listId, state, completedDate);
+      todoListStateCountRepository.recount(listId);
+    } else {
+      List<Long> itemIds = new ArrayList<>(requestBody.size());
+      try {
+        for (String itemId : requestBody) {
+          itemIds.add(Long.valueOf(itemId));
+        }
+      } catch (NumberFormatException e) {
+        return ResponseEntity.badRequest().build();
+      }
+      changedIds = new ArrayList<>(itemIds.size());
+      for (
+        int from = 0;
+        from < itemIds.size();
+        from += BULK_UPDATE_CHUNK_SIZE
+      ) {
+        int to = Math.min(from + BULK_UPDATE_CHUNK_SIZE, itemIds.size());
+        List<Long> chunk = itemIds.subList(from, to);
+        // Only the items of this list are moved, and only those are
+        // published, so ids of other lists' items never reach the consumers
+        List<Object[]> rows = todoItemRepository.findIdAndStateByListIdAndIdIn(
+          listId,
+          chunk
+        );
+        updated +=
+          todoItemRepository.updateStateByListIdAndIdIn(
+            listId,
+            chunk,
+            state,
+            completedDate
+          );
+        Map<TodoState, Long> moved = new HashMap<>();
+        for (Object[] row : rows) {
+          changedIds.add(row[0].toString());
+          moved.merge((TodoState) row[1], 1L, Long::sum);
+        }
+        for (Map.Entry<TodoState, Long> count : moved.entrySet()) {
+          todoListStateCountRepository.add(
+            listId,
+            count.getKey(),
+            -count.getValue()
+          );
+          todoListStateCountRepository.add(listId, state, count.getValue());
+        }
+      }
     }
-    return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    todoOutbox.append(
+      new TodoChangeEvent()
+        .type(TodoChangeEvent.ITEMS_STATE_CHANGED)
+        .listId(listId)
+        .state(state)
+        .itemIds(changedIds)
+    );
+    return ResponseEntity
+      .status(HttpStatus.NO_CONTENT)
+      .header(UPDATED_COUNT_HEADER, String.valueOf(updated))
+      .build();
   }
 
   /**
    * PUT /lists/{listId} : Updates a Todo list by unique identifier
    *
    * @param listId   The Todo list unique identifier (required)
+   * @param ifMatch  The entity tag the update is based on (optional)
    * @param todoList The Todo List (optional)
    * @return A Todo list result (status code 200)
    * or Todo list is invalid (status code 400)
+   * or Todo list was modified concurrently (status code 412)
    */
   @PutMapping("/lists/{listId}")
+  @Transactional
   public ResponseEntity<TodoList> updateListById(
     @PathVariable("listId") Long listId,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
     @Valid @RequestBody(required = false) TodoList todoList
   ) {
+    if (todoList == null) {
+      return ResponseEntity.badRequest().build();
+    }
     return todoListRepository
       .findById(listId)
-      .map(t -> ResponseEntity.ok(todoListRepository.save(todoList)))
+      .map(t -> {
+        if (!ETags.matches(ifMatch, ETags.of(t.getId(), t.getVersion()))) {
+          return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .<TodoList>build();
+        }
+        t.name(todoList.getName()).description(todoList.getDescription());
+        TodoList savedTodoList = todoListRepository.saveAndFlush(t);
+        listUpdated(savedTodoList);
+        return ResponseEntity
+          .ok()
+          .eTag(ETags.of(savedTodoList.getId(), savedTodoList.getVersion()))
+          .body(savedTodoList);
+      })
       .orElseGet(() -> ResponseEntity.badRequest().build());
   }
 
-  private Optional<TodoItem> getTodoItem(Long listId, Long itemId) {
-    Optional<TodoList> optionalTodoList = todoListRepository.findById(listId);
-    if (optionalTodoList.isEmpty()) {
-      return Optional.empty();
+  /**
+   * PATCH /lists/{listId} : Partially updates a Todo list
+   * <p>
+   * The body is a JSON Merge Patch (RFC 7396), also accepted as plain JSON:
+   * only the properties it names are changed, and {@code null} clears one.
+   * Only the changed columns are written.
+   *
+   * @param listId  The Todo list unique identifier (required)
+   * @param ifMatch The entity tag the update is based on (optional)
+   * @param patch   The changes to the Todo List (required)
+   * @return A Todo list result (status code 200)
+   * or Todo list patch is invalid (status code 400)
+   * or Todo list not found (status code 404)
+   * or Todo list was modified concurrently (status code 412)
+   */
+  @PatchMapping(
+    path = "/lists/{listId}",
+    consumes = { MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE }
+  )
+  @Transactional
+  public ResponseEntity<TodoList> patchListById(
+    @PathVariable("listId") Long listId,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    @RequestBody ObjectNode patch
+  ) {
+    return todoListRepository
+      .findById(listId)
+      .map(t -> {
+        if (!ETags.matches(ifMatch, ETags.of(t.getId(), t.getVersion()))) {
+          return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .<TodoList>build();
+        }
+        if (!mergePatch(t, patch)) {
+          return ResponseEntity.badRequest().<TodoList>build();
+        }
+        TodoList savedTodoList = todoListRepository.saveAndFlush(t);
+        listUpdated(savedTodoList);
+        return ResponseEntity
+          .ok()
+          .eTag(ETags.of(savedTodoList.getId(), savedTodoList.getVersion()))
+          .body(savedTodoList);
+      })
+      .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Write an updated item, bring its list's counters in line with it and
+   * record the change in the outbox.
+   */
+  private ResponseEntity<TodoItem> itemUpdated(
+    Long listId,
+    TodoState previousState,
+    TodoItem todoItem
+  ) {
+    TodoItem savedTodoItem = todoItemRepository.saveAndFlush(todoItem);
+    if (previousState != savedTodoItem.getState()) {
+      todoListStateCountRepository.add(listId, previousState, -1);
+      todoListStateCountRepository.add(listId, savedTodoItem.getState(), 1);
     }
-    Optional<TodoItem> optionalTodoItem = todoItemRepository.findById(itemId);
-    if (optionalTodoItem.isPresent()) {
-      TodoItem todoItem = optionalTodoItem.get();
-      if (todoItem.getListId().equals(listId)) {
-        return Optional.of(todoItem);
-      } else {
-        return Optional.empty();
+    todoOutbox.append(
+      new TodoChangeEvent()
+        .type(TodoChangeEvent.ITEM_UPDATED)
+        .listId(listId)
+        .itemId(savedTodoItem.getId())
+        .item(savedTodoItem)
+    );
+    return ResponseEntity
+      .ok()
+      .eTag(ETags.of(savedTodoItem.getId(), savedTodoItem.getVersion()))
+      .body(savedTodoItem);
+  }
+
+  private void listUpdated(TodoList todoList) {
+    todoOutbox.append(
+      new TodoChangeEvent()
+        .type(TodoChangeEvent.LIST_UPDATED)
+        .listId(todoList.getId())
+        .list(todoList)
+    );
+  }
+
+  /**
+   * Apply a merge patch onto a managed entity and validate the result. On
+   * failure the transaction is rolled back, so a half-applied patch is never
+   * flushed.
+   *
+   * @return whether the patched entity is valid
+   */
+  private boolean mergePatch(Object entity, ObjectNode patch) {
+    patch.remove(READ_ONLY_PROPERTIES);
+    try {
+      objectMapper.readerForUpdating(entity).readValue(patch);
+      if (validator.validate(entity).isEmpty()) {
+        return true;
       }
-    } else {
-      return Optional.empty();
+    } catch (IOException e) {
+      // Not a valid patch for this entity, rejected below
+    }
+    TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+    return false;
+  }
+
+  private static <T> ResponseEntity<List<T>> page(
+    List<T> content,
+    int size,
+    Function<T, Long> id,
+    Function<T, Long> version
+  ) {
+    ResponseEntity.BodyBuilder response = ResponseEntity
+      .ok()
+      .eTag(ETags.of(content, id, version))
+      .cacheControl(CacheControl.noCache());
+    String next = ContinuationToken.next(content, size, id);
+    if (next != null) {
+      response.header(ContinuationToken.HEADER, next);
     }
+    return response.body(content);
+  }
+
+  /**
+   * A concurrent update slipped in between the {@code If-Match} check and the
+   * write, so the client's representation is stale.
+   */
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public ResponseEntity<Void> handleOptimisticLockingFailure() {
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+  }
+
+  /**
+   * Tag a GET response so clients revalidate it. Spring MVC answers a
+   * matching {@code If-None-Match} with 304 before the body is serialized.
+   */
+  private static <T> ResponseEntity<T> conditional(String etag, T body) {
+    return ResponseEntity
+      .ok()
+      .eTag(etag)
+      .cacheControl(CacheControl.noCache())
+      .body(body);
+  }
+
+  private Optional<TodoItem> getTodoItem(Long listId, Long itemId) {
+    return todoItemRepository.findByIdAndListId(itemId, listId);
   }
 }
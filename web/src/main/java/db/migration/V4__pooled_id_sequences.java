@@ -0,0 +1,60 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Replace the shared hibernate_sequence with one sequence per entity whose
+ * increment matches the allocation size of its pooled-lo id generator. Each
+ * sequence starts after the highest id already stored, which plain SQL cannot
+ * express portably across H2 and PostgreSQL. The increment is the
+ * {@value #ALLOCATION_SIZE_PLACEHOLDER} placeholder, set from
+ * {@code todo.ids.allocation-size}. It only applies when the sequences are
+ * created; Hibernate checks it against the configured size at start-up.
+ */
+public class V4__pooled_id_sequences extends BaseJavaMigration {
+
+  private static final String ALLOCATION_SIZE_PLACEHOLDER = "id-allocation-size";
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    int allocationSize = Integer.parseInt(
+      context
+        .getConfiguration()
+        .getPlaceholders()
+        .getOrDefault(ALLOCATION_SIZE_PLACEHOLDER, "50")
+    );
+    try (Statement statement = context.getConnection().createStatement()) {
+      createSequence(statement, "todo_list_seq", "todo_list", allocationSize);
+      createSequence(statement, "todo_item_seq", "todo_item", allocationSize);
+      statement.execute("drop sequence if exists hibernate_sequence");
+    }
+  }
+
+  private static void createSequence(
+    Statement statement,
+    String sequence,
+    String table,
+    int allocationSize
+  ) throws SQLException {
+    long start = 1;
+    try (
+      ResultSet rs = statement.executeQuery("select max(id) from " + table)
+    ) {
+      if (rs.next()) {
+        start = rs.getLong(1) + 1;
+      }
+    }
+    statement.execute(
+      "create sequence " +
+      sequence +
+      " start with " +
+      start +
+      " increment by " +
+      allocationSize
+    );
+  }
+}
@@ -0,0 +1,28 @@
+-- Baseline schema, compatible with H2 and PostgreSQL. The "if not exists"
+-- guards let databases previously managed by ddl-auto adopt it in place.
+
+create sequence if not exists hibernate_sequence start with 1 increment by 1;
+
+create table if not exists todo_list (
+  id bigint not null,
+  name varchar(255),
+  description varchar(255),
+  primary key (id)
+);
+
+create table if not exists todo_item (
+  id bigint not null,
+  list_id bigint,
+  name varchar(255),
+  description varchar(255),
+  state integer,
+  due_date timestamp,
+  completed_date timestamp,
+  primary key (id)
+);
+
+create index if not exists ix_todo_item_list_id_id
+  on todo_item (list_id, id);
+
+create index if not exists ix_todo_item_list_id_state_id
+  on todo_item (list_id, state, id);
@@ -0,0 +1,16 @@
+-- Store the item state as its string value instead of the enum ordinal.
+
+alter table todo_item add column state_code varchar(16);
+
+update todo_item set state_code = case state
+  when 0 then 'todo'
+  when 1 then 'inprogress'
+  when 2 then 'done'
+end;
+
+drop index ix_todo_item_list_id_state_id;
+
+alter table todo_item drop column state;
+
+create index ix_todo_item_list_id_state_id
+  on todo_item (list_id, state_code, id);
@@ -0,0 +1,5 @@
+-- Version columns used for optimistic locking and entity tags.
+
+alter table todo_list add column version bigint default 0 not null;
+
+alter table todo_item add column version bigint default 0 not null;
@@ -0,0 +1,16 @@
+-- Per-list, per-state item counters, seeded from the existing items.
+
+create table if not exists todo_list_state_count (
+  list_id bigint not null,
+  state_code varchar(16) not null,
+  item_count bigint default 0 not null,
+  primary key (list_id, state_code)
+);
+
+insert into todo_list_state_count (list_id, state_code, item_count)
+select l.id, s.state_code, (
+  select count(*) from todo_item i
+  where i.list_id = l.id and i.state_code = s.state_code
+)
+from todo_list l
+cross join (values ('todo'), ('inprogress'), ('done')) as s (state_code);
@@ -0,0 +1,8 @@
+-- Due-date range queries: per state across lists, which serves the overdue
+-- listing, and within a list. Both end with id for keyset pagination.
+
+create index if not exists ix_todo_item_state_due_date_id
+  on todo_item (state_code, due_date, id);
+
+create index if not exists ix_todo_item_list_id_due_date_id
+  on todo_item (list_id, due_date, id);
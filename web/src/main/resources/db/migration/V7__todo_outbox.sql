@@ -0,0 +1,18 @@
+-- Transactional outbox: changes recorded in the same transaction as the
+-- items they describe, and handed to downstream consumers once committed.
+
+create table if not exists todo_outbox (
+  id bigint generated by default as identity,
+  list_id bigint not null,
+  event_type varchar(32) not null,
+  payload text not null,
+  created_at timestamp not null,
+  attempts integer default 0 not null,
+  next_attempt_at timestamp not null,
+  failed_at timestamp,
+  last_error varchar(1000),
+  primary key (id)
+);
+
+create index if not exists ix_todo_outbox_list_id_id
+  on todo_outbox (list_id, id);
@@ -0,0 +1,19 @@
+-- The outbox becomes a log read by every application instance from its own
+-- cursor; retries are tracked by each instance, not on the entries.
+
+create table if not exists todo_outbox_cursor (
+  node_id varchar(100) not null,
+  last_id bigint not null,
+  updated_at timestamp not null,
+  primary key (node_id)
+);
+
+drop index if exists ix_todo_outbox_list_id_id;
+
+alter table todo_outbox drop column if exists attempts;
+
+alter table todo_outbox drop column if exists next_attempt_at;
+
+alter table todo_outbox drop column if exists failed_at;
+
+alter table todo_outbox drop column if exists last_error;
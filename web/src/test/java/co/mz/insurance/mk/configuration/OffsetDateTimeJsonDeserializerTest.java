@@ -0,0 +1,150 @@
+package co.mz.insurance.mk.configuration;
+
+import static co.mz.insurance.mk.configuration.OffsetDateTimeJsonSerializerTest.randomValues;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.TimeZone;
+import org.junit.jupiter.api.Test;
+
+class OffsetDateTimeJsonDeserializerTest {
+
+  private static final String[] TEXTS = {
+    "2023-06-01T12:30:00Z",
+    "2023-06-01T12:30:00.25+02:00",
+    "2023-06-01T12:30:00.123456789-03:30",
+    "2023-06-01T12:30:00+05:30:15",
+    "2023-03-26T01:30:00Z",
+    "0000-01-01T00:00:00+18:00",
+    // Other forms, left to the Java time module
+    "2023-06-01T12:30Z",
+    "2023-06-01T12:30:00.1234+0530",
+    "+12023-06-01T12:30:00Z",
+    "",
+  };
+
+  @Test
+  void readsTheSameValuesAsTheJavaTimeModule() throws Exception {
+    assertSameValues(expected(), actual());
+  }
+
+  @Test
+  void readsTheSameValuesInTheContextTimeZone() throws Exception {
+    TimeZone timeZone = TimeZone.getTimeZone("Europe/Lisbon");
+    assertSameValues(
+      expected().setTimeZone(timeZone),
+      actual().setTimeZone(timeZone)
+    );
+  }
+
+  @Test
+  void readsTheSameValuesWithoutAdjustment() throws Exception {
+    assertSameValues(
+      expected()
+        .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE),
+      actual().disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+    );
+  }
+
+  @Test
+  void readsTimestampsLikeTheJavaTimeModule() throws Exception {
+    for (String json : new String[] { "1685622600", "1685622600.25" }) {
+      assertEquals(
+        expected().readValue(json, OffsetDateTime.class),
+        actual().readValue(json, OffsetDateTime.class),
+        json
+      );
+    }
+  }
+
+  @Test
+  void readsWithJsonFormatLikeTheJavaTimeModule() throws Exception {
+    String json = "{\"date\":\"01/06/2023 12:30 +0200\"}";
+    assertEquals(
+      expected().readValue(json, Formatted.class).date,
+      actual().readValue(json, Formatted.class).date
+    );
+  }
+
+  @Test
+  void rejectsWhatTheJavaTimeModuleRejects() {
+    String[] texts = {
+      "\"yesterday\"",
+      "\"2023-02-30T00:00:00Z\"",
+      "\"2023-06-01T24:00:00Z\"",
+      "\"2023-06-01T12:30:00\"",
+      "true",
+    };
+    for (String json : texts) {
+      assertThrows(
+        JsonProcessingException.class,
+        () -> expected().readValue(json, OffsetDateTime.class),
+        json
+      );
+      assertThrows(
+        JsonProcessingException.class,
+        () -> actual().readValue(json, OffsetDateTime.class),
+        json
+      );
+    }
+  }
+
+  private static void assertSameValues(
+    ObjectMapper expected,
+    ObjectMapper actual
+  ) throws Exception {
+    for (String text : TEXTS) {
+      assertSameValue(expected, actual, text);
+    }
+    for (OffsetDateTime value : randomValues(10_000)) {
+      assertSameValue(
+        expected,
+        actual,
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value)
+      );
+    }
+  }
+
+  private static void assertSameValue(
+    ObjectMapper expected,
+    ObjectMapper actual,
+    String text
+  ) throws Exception {
+    String json = "\"" + text + "\"";
+    // Equal only with the same offset, not just the same instant
+    assertEquals(
+      expected.readValue(json, OffsetDateTime.class),
+      actual.readValue(json, OffsetDateTime.class),
+      text
+    );
+  }
+
+  private static ObjectMapper expected() {
+    return new ObjectMapper().registerModule(new JavaTimeModule());
+  }
+
+  private static ObjectMapper actual() {
+    return expected()
+      .registerModule(
+        new SimpleModule()
+          .addDeserializer(
+            OffsetDateTime.class,
+            new OffsetDateTimeJsonDeserializer()
+          )
+      );
+  }
+
+  static class Formatted {
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm Z")
+    public OffsetDateTime date;
+  }
+}
@@ -0,0 +1,144 @@
+package co.mz.insurance.mk.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.TimeZone;
+import org.junit.jupiter.api.Test;
+
+class OffsetDateTimeJsonSerializerTest {
+
+  @Test
+  void writesTheSameBytesAsTheJavaTimeModule() throws Exception {
+    assertSameBytes(
+      expected(),
+      actual(),
+      OffsetDateTime.of(2023, 1, 31, 23, 59, 59, 0, ZoneOffset.UTC),
+      OffsetDateTime.of(2023, 1, 31, 0, 0, 0, 0, ZoneOffset.UTC),
+      OffsetDateTime.of(2023, 6, 1, 12, 30, 0, 100_000_000, ZoneOffset.UTC),
+      OffsetDateTime.of(2023, 6, 1, 12, 30, 0, 1, ZoneOffset.ofHours(-5)),
+      OffsetDateTime.of(2023, 6, 1, 12, 30, 0, 120_000, ZoneOffset.ofHours(14)),
+      OffsetDateTime.of(
+        1900,
+        2,
+        28,
+        1,
+        2,
+        3,
+        4_000_000,
+        ZoneOffset.ofHoursMinutesSeconds(5, 30, 15)
+      ),
+      OffsetDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+      OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.MAX),
+      // Outside 0000-9999, left to the Java time module
+      OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+      OffsetDateTime.of(-1, 12, 31, 0, 0, 0, 0, ZoneOffset.MIN),
+      OffsetDateTime.MIN,
+      OffsetDateTime.MAX
+    );
+  }
+
+  @Test
+  void writesTheSameBytesForRandomValues() throws Exception {
+    assertSameBytes(expected(), actual(), randomValues(10_000));
+  }
+
+  @Test
+  void writesTheSameBytesWithTimestamps() throws Exception {
+    assertSameBytes(
+      expected().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+      actual().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+      randomValues(100)
+    );
+  }
+
+  @Test
+  void writesTheSameBytesWithAnExplicitTimeZone() throws Exception {
+    TimeZone timeZone = TimeZone.getTimeZone("America/Sao_Paulo");
+    assertSameBytes(
+      expected().setTimeZone(timeZone),
+      actual().setTimeZone(timeZone),
+      randomValues(100)
+    );
+  }
+
+  @Test
+  void writesTheSameBytesWithJsonFormat() throws Exception {
+    Formatted value = new Formatted();
+    value.date = OffsetDateTime.of(2023, 6, 1, 12, 30, 0, 0, ZoneOffset.UTC);
+    assertArrayEquals(
+      expected().writeValueAsBytes(value),
+      actual().writeValueAsBytes(value)
+    );
+  }
+
+  static ObjectMapper expected() {
+    return new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  static ObjectMapper actual() {
+    return expected()
+      .registerModule(
+        new SimpleModule()
+          .addSerializer(
+            OffsetDateTime.class,
+            new OffsetDateTimeJsonSerializer()
+          )
+      );
+  }
+
+  /**
+   * Values in 0000-9999 with any offset and a fraction of 0 to 9 digits.
+   */
+  static OffsetDateTime[] randomValues(int count) {
+    Random random = new Random(42);
+    OffsetDateTime[] values = new OffsetDateTime[count];
+    for (int i = 0; i < count; i++) {
+      int nano = random.nextInt(1_000_000_000);
+      nano -= nano % (int) Math.pow(10, random.nextInt(10));
+      values[i] =
+        OffsetDateTime.of(
+          random.nextInt(10_000),
+          1 + random.nextInt(12),
+          1 + random.nextInt(28),
+          random.nextInt(24),
+          random.nextInt(60),
+          random.nextInt(60),
+          nano,
+          ZoneOffset.ofTotalSeconds(
+            random.nextInt(2 * 18 * 3600 + 1) - 18 * 3600
+          )
+        );
+    }
+    return values;
+  }
+
+  private static void assertSameBytes(
+    ObjectMapper expected,
+    ObjectMapper actual,
+    OffsetDateTime... values
+  ) throws Exception {
+    for (OffsetDateTime value : values) {
+      assertArrayEquals(
+        expected.writeValueAsBytes(value),
+        actual.writeValueAsBytes(value),
+        value::toString
+      );
+    }
+  }
+
+  static class Formatted {
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+    public OffsetDateTime date;
+  }
+}
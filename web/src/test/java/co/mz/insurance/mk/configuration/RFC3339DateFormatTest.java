@@ -0,0 +1,144 @@
+package co.mz.insurance.mk.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RFC3339DateFormatTest {
+
+  /**
+   * Milliseconds of 0001-01-01 and 9999-12-31, the range of random dates.
+   */
+  private static final long MIN_MILLIS = -62135596800000L;
+
+  private static final long MAX_MILLIS = 253402214400000L;
+
+  private final RFC3339DateFormat format = new RFC3339DateFormat();
+
+  @Test
+  void formatsLikeStdDateFormat() {
+    assertEquals(
+      "2023-06-01T12:30:00.250+00:00",
+      format.format(new Date(1685622600250L))
+    );
+    for (Date date : randomDates(10_000)) {
+      assertEquals(expected().format(date), format.format(date));
+    }
+  }
+
+  @Test
+  void formatsDatesOutOfRangeLikeStdDateFormat() {
+    long[] millis = {
+      Long.MIN_VALUE / 2,
+      MIN_MILLIS - 1,
+      // The Julian calendar before 1583
+      -12219292800001L,
+      MAX_MILLIS + 86_400_000L,
+      Long.MAX_VALUE / 2,
+    };
+    for (long time : millis) {
+      Date date = new Date(time);
+      assertEquals(expected().format(date), format.format(date));
+    }
+  }
+
+  @Test
+  void parsesLikeStdDateFormat() throws Exception {
+    for (Date date : randomDates(10_000)) {
+      String text = expected().format(date);
+      assertEquals(date, format.parse(text));
+    }
+    String[] texts = {
+      "2023-06-01T12:30:00Z",
+      "2023-06-01T12:30:00.1+02:00",
+      "2023-06-01T12:30:00.123456789-03:30",
+      "2023-06-01T12:30:00+0200",
+      "2023-06-01T12:30:00",
+      "2023-06-01",
+      "2023-13-45T00:00:00Z",
+      "1500-06-01T12:30:00Z",
+      "1685622600250",
+    };
+    for (String text : texts) {
+      assertEquals(expected().parse(text), format.parse(text), text);
+    }
+  }
+
+  @Test
+  void rejectsWhatStdDateFormatRejects() {
+    String[] texts = { "yesterday", "12:30", "2023-06-01T12:30:00 UTC" };
+    for (String text : texts) {
+      assertThrows(ParseException.class, () -> expected().parse(text));
+      assertThrows(ParseException.class, () -> format.parse(text));
+    }
+  }
+
+  @Test
+  void isSharedInsteadOfCloned() {
+    assertSame(format, format.clone());
+  }
+
+  @Test
+  void isSafeToShareBetweenThreads() throws Exception {
+    List<Date> dates = randomDates(10_000);
+    List<String> texts = new ArrayList<>(dates.size());
+    for (Date date : dates) {
+      texts.add(expected().format(date));
+    }
+    DateFormat shared = (DateFormat) format.clone();
+    ExecutorService threads = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < 16; t++) {
+        Random random = new Random(t);
+        results.add(
+          threads.submit(() -> {
+            for (int i = 0; i < 20_000; i++) {
+              int index = random.nextInt(dates.size());
+              assertEquals(texts.get(index), shared.format(dates.get(index)));
+              assertEquals(dates.get(index), shared.parse(texts.get(index)));
+            }
+            return null;
+          })
+        );
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  private static DateFormat expected() {
+    return new StdDateFormat()
+      .withTimeZone(TimeZone.getTimeZone("UTC"))
+      .withColonInTimeZone(true);
+  }
+
+  private static List<Date> randomDates(int count) {
+    Random random = new Random(42);
+    List<Date> dates = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      dates.add(
+        new Date(
+          MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS))
+        )
+      );
+    }
+    return dates;
+  }
+}
@@ -0,0 +1,243 @@
+package co.mz.insurance.mk.configuration;
+
+import static co.mz.insurance.mk.configuration.OffsetDateTimeJsonSerializerTest.randomValues;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RFC3339DateTimeFormatTest {
+
+  private static final DateTimeFormatter ISO =
+    DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+  @Test
+  void formatsLikeIsoOffsetDateTime() {
+    assertFormat("2023-01-31T23:59:59Z", 0, ZoneOffset.UTC);
+    assertFormat("2023-01-31T23:59:59.1Z", 100_000_000, ZoneOffset.UTC);
+    assertFormat("2023-01-31T23:59:59.12Z", 120_000_000, ZoneOffset.UTC);
+    assertFormat("2023-01-31T23:59:59.000001Z", 1_000, ZoneOffset.UTC);
+    assertFormat("2023-01-31T23:59:59.000000001Z", 1, ZoneOffset.UTC);
+    assertFormat("2023-01-31T23:59:59.987654321Z", 987654321, ZoneOffset.UTC);
+    assertFormat("2023-01-31T23:59:59+05:30", 0, ZoneOffset.of("+05:30"));
+    assertFormat("2023-01-31T23:59:59-03:00", 0, ZoneOffset.of("-03:00"));
+    assertFormat(
+      "2023-01-31T23:59:59+05:30:15",
+      0,
+      ZoneOffset.of("+05:30:15")
+    );
+    assertFormat("2023-01-31T23:59:59-18:00", 0, ZoneOffset.MIN);
+    assertEquals(
+      "0000-01-01T00:00:00Z",
+      format(OffsetDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+    );
+    assertEquals(
+      "0099-02-03T04:05:06Z",
+      format(OffsetDateTime.of(99, 2, 3, 4, 5, 6, 0, ZoneOffset.UTC))
+    );
+    assertEquals(
+      "9999-12-31T23:59:59.999999999+18:00",
+      format(
+        OffsetDateTime.of(
+          9999,
+          12,
+          31,
+          23,
+          59,
+          59,
+          999_999_999,
+          ZoneOffset.MAX
+        )
+      )
+    );
+  }
+
+  @Test
+  void formatsRandomValuesLikeIsoOffsetDateTime() {
+    char[] buffer = new char[RFC3339DateTimeFormat.MAX_LENGTH];
+    for (OffsetDateTime value : randomValues(10_000)) {
+      String expected = ISO.format(value);
+      assertEquals(expected, format(value));
+      int length = RFC3339DateTimeFormat.formatTo(value, buffer);
+      assertEquals(expected, new String(buffer, 0, length));
+    }
+  }
+
+  @Test
+  void formatsFromTheCache() {
+    OffsetDateTime value = OffsetDateTime.parse("2023-06-01T12:30:00+02:00");
+    assertSame(
+      RFC3339DateTimeFormat.format(value),
+      RFC3339DateTimeFormat.format(
+        OffsetDateTime.parse("2023-06-01T12:30:00+02:00")
+      )
+    );
+    // Same instant at another offset, so not equal and not cached as one
+    assertEquals(
+      "2023-06-01T10:30:00Z",
+      format(value.withOffsetSameInstant(ZoneOffset.UTC))
+    );
+  }
+
+  @Test
+  void rejectsYearsOutOfRange() {
+    OffsetDateTime[] values = {
+      OffsetDateTime.of(10_000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+      OffsetDateTime.of(-1, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC),
+      OffsetDateTime.MIN,
+      OffsetDateTime.MAX,
+    };
+    for (OffsetDateTime value : values) {
+      assertFalse(RFC3339DateTimeFormat.isSupported(value));
+      assertThrows(
+        IllegalArgumentException.class,
+        () -> RFC3339DateTimeFormat.format(value)
+      );
+    }
+  }
+
+  @Test
+  void parsesLikeIsoOffsetDateTime() {
+    String[] texts = {
+      "2023-01-31T23:59:59Z",
+      "2023-01-31T23:59:59.1Z",
+      "2023-01-31T23:59:59.120Z",
+      "2023-01-31T23:59:59.000000001Z",
+      "2023-01-31T23:59:59.123456789Z",
+      "2023-01-31T23:59:59+05:30",
+      "2023-01-31T23:59:59.5-03:00",
+      "2023-01-31T23:59:59+05:30:15",
+      "2023-01-31T23:59:59+00:00",
+      "2023-01-31T23:59:59-00:00",
+      "2024-02-29T00:00:00+18:00",
+      "0000-01-01T00:00:00-18:00",
+      "9999-12-31T23:59:59.999999999Z",
+    };
+    for (String text : texts) {
+      assertEquals(
+        OffsetDateTime.parse(text),
+        RFC3339DateTimeFormat.parse(text),
+        text
+      );
+    }
+  }
+
+  @Test
+  void parsesWhatItFormats() {
+    for (OffsetDateTime value : randomValues(10_000)) {
+      assertEquals(value, RFC3339DateTimeFormat.parse(format(value)));
+    }
+  }
+
+  @Test
+  void parsesWithinABuffer() {
+    char[] text = "[\"2023-06-01T12:30:00.25+02:00\"]".toCharArray();
+    assertEquals(
+      OffsetDateTime.parse("2023-06-01T12:30:00.25+02:00"),
+      RFC3339DateTimeFormat.parse(text, 2, 28)
+    );
+  }
+
+  @Test
+  void leavesOtherFormsAndInvalidDatesToTheCaller() {
+    String[] texts = {
+      "",
+      "2023-06-01",
+      "2023-06-01T12:30Z",
+      "2023-06-01T12:30:00",
+      "2023-06-01 12:30:00Z",
+      "2023-06-01T12:30:00z",
+      "2023-06-01T12:30:00.Z",
+      "2023-06-01T12:30:00.1234567890Z",
+      "2023-06-01T12:30:00+05",
+      "2023-06-01T12:30:00+0530",
+      "2023-06-01T12:30:00+05:30:1",
+      "2023-06-01T12:30:00+05:60",
+      "2023-06-01T12:30:00+19:00",
+      "2023-06-01T12:30:00Z[UTC]",
+      "+2023-06-01T12:30:00Z",
+      "2023-02-30T00:00:00Z",
+      "2023-13-01T00:00:00Z",
+      "2023-06-01T24:00:00Z",
+      "2023-06-01T12:60:00Z",
+      "2023-06-01T12:30:60Z",
+      "2023-06-0xT12:30:00Z",
+    };
+    for (String text : texts) {
+      assertNull(RFC3339DateTimeFormat.parse(text), text);
+    }
+  }
+
+  /**
+   * Many threads formatting and parsing more distinct values than the cache
+   * holds, so its entries are replaced while they are read.
+   */
+  @Test
+  void isSafeToShareBetweenThreads() throws Exception {
+    OffsetDateTime[] values = randomValues(20_000);
+    String[] texts = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      texts[i] = ISO.format(values[i]);
+    }
+    ExecutorService threads = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < 16; t++) {
+        Random random = new Random(t);
+        results.add(
+          threads.submit(() -> {
+            for (int i = 0; i < 50_000; i++) {
+              int index = random.nextInt(values.length);
+              assertEquals(texts[index], format(values[index]));
+              assertEquals(
+                values[index],
+                RFC3339DateTimeFormat.parse(texts[index])
+              );
+            }
+            return null;
+          })
+        );
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  private static void assertFormat(
+    String expected,
+    int nano,
+    ZoneOffset offset
+  ) {
+    OffsetDateTime value = OffsetDateTime.of(
+      2023,
+      1,
+      31,
+      23,
+      59,
+      59,
+      nano,
+      offset
+    );
+    assertEquals(ISO.format(value), expected);
+    assertEquals(expected, format(value));
+  }
+
+  private static String format(OffsetDateTime value) {
+    return RFC3339DateTimeFormat.format(value).getValue();
+  }
+}
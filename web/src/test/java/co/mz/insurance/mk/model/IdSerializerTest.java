@@ -0,0 +1,55 @@
+package co.mz.insurance.mk.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IdSerializerTest {
+
+  private final ObjectMapper expected = new ObjectMapper()
+    .registerModule(
+      new SimpleModule().addSerializer(Long.class, ToStringSerializer.instance)
+    );
+
+  private final ObjectMapper actual = new ObjectMapper()
+    .registerModule(new SimpleModule().addSerializer(new IdSerializer()));
+
+  @Test
+  void writesTheSameBytesAsToStringSerializer() throws Exception {
+    assertSameBytes(
+      0L,
+      1L,
+      -1L,
+      9L,
+      10L,
+      -10L,
+      (long) Integer.MAX_VALUE,
+      (long) Integer.MIN_VALUE,
+      Long.MAX_VALUE,
+      Long.MIN_VALUE,
+      Long.MIN_VALUE + 1
+    );
+  }
+
+  @Test
+  void writesTheSameBytesForRandomIds() throws Exception {
+    Random random = new Random(42);
+    Long[] ids = new Long[10_000];
+    for (int i = 0; i < ids.length; i++) {
+      // Spread over all lengths, not mostly 18 and 19 digits
+      ids[i] = random.nextLong() >> random.nextInt(64);
+    }
+    assertSameBytes(ids);
+  }
+
+  private void assertSameBytes(Long... ids) throws Exception {
+    assertArrayEquals(
+      expected.writeValueAsBytes(ids),
+      actual.writeValueAsBytes(ids)
+    );
+  }
+}
@@ -0,0 +1,57 @@
+package co.mz.insurance.mk.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.util.EnumMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TodoStateSerializerTest {
+
+  private final ObjectMapper expected = new ObjectMapper();
+
+  private final ObjectMapper actual = new ObjectMapper()
+    .registerModule(
+      new SimpleModule().addSerializer(new TodoStateSerializer())
+    );
+
+  @Test
+  void writesTheSameBytesAsJsonValue() throws Exception {
+    for (TodoState state : TodoState.values()) {
+      assertArrayEquals(
+        expected.writeValueAsBytes(state),
+        actual.writeValueAsBytes(state),
+        state::name
+      );
+    }
+  }
+
+  @Test
+  void writesTheSameBytesInsideContainers() throws Exception {
+    TodoState[] states = TodoState.values();
+    assertArrayEquals(
+      expected.writeValueAsBytes(states),
+      actual.writeValueAsBytes(states)
+    );
+    Map<TodoState, TodoState> next = new EnumMap<>(TodoState.class);
+    next.put(TodoState.TODO, TodoState.INPROGRESS);
+    next.put(TodoState.INPROGRESS, TodoState.DONE);
+    assertArrayEquals(
+      expected.writeValueAsBytes(next),
+      actual.writeValueAsBytes(next)
+    );
+  }
+
+  @Test
+  void readsBackWhatItWrites() throws Exception {
+    for (TodoState state : TodoState.values()) {
+      assertEquals(
+        state,
+        actual.readValue(actual.writeValueAsBytes(state), TodoState.class)
+      );
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package co.mz.insurance.mk.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class ContinuationTokenTest {
+
+  @Test
+  void decodesTheIdItEncodes() {
+    for (long id : new long[] { 0, 1, 42, Long.MAX_VALUE, -1 }) {
+      assertEquals(
+        Optional.of(id),
+        ContinuationToken.decode(ContinuationToken.encode(id))
+      );
+    }
+  }
+
+  @Test
+  void decodesTheDueDateKeyItEncodes() {
+    OffsetDateTime dueDate = OffsetDateTime.of(
+      2023,
+      6,
+      1,
+      12,
+      30,
+      15,
+      123_000_000,
+      ZoneOffset.ofHours(2)
+    );
+    ContinuationToken.DueDateKey key = ContinuationToken
+      .decodeDueDate(ContinuationToken.encode(dueDate, 7L))
+      .orElseThrow();
+    assertTrue(dueDate.isEqual(key.getDueDate()));
+    assertEquals(ZoneOffset.UTC, key.getDueDate().getOffset());
+    assertEquals(7L, key.getId());
+  }
+
+  @Test
+  void isUrlSafe() {
+    String token = ContinuationToken.encode(Long.MAX_VALUE);
+    assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+  }
+
+  @Test
+  void rejectsMalformedTokens() {
+    assertEquals(Optional.empty(), ContinuationToken.decode(""));
+    assertEquals(Optional.empty(), ContinuationToken.decode("not base64!"));
+    assertEquals(Optional.empty(), ContinuationToken.decode(token("42")));
+    assertEquals(Optional.empty(), ContinuationToken.decode(token("id:")));
+    assertEquals(Optional.empty(), ContinuationToken.decode(token("id:4x")));
+    assertEquals(
+      Optional.empty(),
+      ContinuationToken.decode(token("id:99999999999999999999"))
+    );
+  }
+
+  @Test
+  void rejectsTokensOfTheOtherKind() {
+    String dueDateToken = ContinuationToken.encode(
+      OffsetDateTime.of(2023, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+      7L
+    );
+    assertEquals(Optional.empty(), ContinuationToken.decode(dueDateToken));
+    assertEquals(
+      Optional.empty(),
+      ContinuationToken.decodeDueDate(ContinuationToken.encode(7L))
+    );
+  }
+
+  @Test
+  void rejectsTamperedDueDateTokens() {
+    assertEquals(
+      Optional.empty(),
+      ContinuationToken.decodeDueDate(token("due:2023-06-01T00:00:00Z"))
+    );
+    assertEquals(
+      Optional.empty(),
+      ContinuationToken.decodeDueDate(token("due:yesterday/7"))
+    );
+    assertEquals(
+      Optional.empty(),
+      ContinuationToken.decodeDueDate(token("due:2023-06-01T00:00:00Z/x"))
+    );
+  }
+
+  @Test
+  void pointsAfterTheLastElementOfAFullPage() {
+    Function<Long, Long> id = Function.identity();
+    String next = ContinuationToken.next(List.of(1L, 2L, 3L), 3, id);
+    assertEquals(Optional.of(3L), ContinuationToken.decode(next));
+    assertNull(ContinuationToken.next(List.of(1L, 2L), 3, id));
+    assertNull(ContinuationToken.next(List.of(), 3, id));
+  }
+
+  private static String token(String value) {
+    return Base64
+      .getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,60 @@
+package co.mz.insurance.mk.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvLineParserTest {
+
+  @Test
+  void splitsOnCommas() {
+    assertEquals(List.of("a", "b", "c"), CsvLineParser.parse("a,b,c"));
+  }
+
+  @Test
+  void keepsEmptyFields() {
+    assertEquals(List.of(""), CsvLineParser.parse(""));
+    assertEquals(List.of("", "", ""), CsvLineParser.parse(",,"));
+    assertEquals(List.of("a", "", "c", ""), CsvLineParser.parse("a,,c,"));
+  }
+
+  @Test
+  void keepsSpaces() {
+    assertEquals(List.of(" a ", " b"), CsvLineParser.parse(" a , b"));
+  }
+
+  @Test
+  void readsQuotedFields() {
+    assertEquals(
+      List.of("a,b", "c", ""),
+      CsvLineParser.parse("\"a,b\",\"c\",\"\"")
+    );
+  }
+
+  @Test
+  void unescapesDoubledQuotes() {
+    assertEquals(
+      List.of("say \"hi\"", "\""),
+      CsvLineParser.parse("\"say \"\"hi\"\"\",\"\"\"\"")
+    );
+  }
+
+  @Test
+  void joinsQuotedAndUnquotedParts() {
+    assertEquals(List.of("ab,c"), CsvLineParser.parse("a\"b,\"c"));
+  }
+
+  @Test
+  void rejectsUnterminatedQuotes() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> CsvLineParser.parse("a,\"b")
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> CsvLineParser.parse("\"a\"\"")
+    );
+  }
+}
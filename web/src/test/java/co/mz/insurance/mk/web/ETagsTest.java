@@ -0,0 +1,86 @@
+package co.mz.insurance.mk.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+  private static final Function<long[], Long> ID = e -> e[0];
+
+  private static final Function<long[], Long> VERSION = e -> e[1];
+
+  @Test
+  void tagsAnEntityWithItsIdAndVersion() {
+    assertEquals("\"12-3\"", ETags.of(12L, 3L));
+    assertNotEquals(ETags.of(12L, 3L), ETags.of(12L, 4L));
+  }
+
+  @Test
+  void matchesWhenIfMatchIsAbsent() {
+    assertTrue(ETags.matches(null, ETags.of(1L, 0L)));
+  }
+
+  @Test
+  void matchesTheCurrentTagOrAnyTag() {
+    String etag = ETags.of(1L, 2L);
+    assertTrue(ETags.matches("\"1-2\"", etag));
+    assertTrue(ETags.matches("*", etag));
+    assertTrue(ETags.matches("\"1-1\", \"1-2\"", etag));
+    assertTrue(ETags.matches(" \"1-2\" ,\"1-3\"", etag));
+  }
+
+  @Test
+  void doesNotMatchOtherOrWeakTags() {
+    String etag = ETags.of(1L, 2L);
+    assertFalse(ETags.matches("\"1-1\"", etag));
+    assertFalse(ETags.matches("\"1-1\", \"1-3\"", etag));
+    assertFalse(ETags.matches("W/\"1-2\"", etag));
+    assertFalse(ETags.matches("1-2", etag));
+    assertFalse(ETags.matches("", etag));
+  }
+
+  @Test
+  void tagsAPageByItsElementsInOrder() {
+    List<long[]> page = List.of(new long[] { 1, 0 }, new long[] { 2, 5 });
+    String etag = ETags.of(page, ID, VERSION);
+    assertEquals(
+      etag,
+      ETags.of(
+        List.of(new long[] { 1, 0 }, new long[] { 2, 5 }),
+        ID,
+        VERSION
+      )
+    );
+    assertNotEquals(
+      etag,
+      ETags.of(List.of(new long[] { 1, 0 }, new long[] { 2, 6 }), ID, VERSION)
+    );
+    assertNotEquals(
+      etag,
+      ETags.of(List.of(new long[] { 2, 5 }, new long[] { 1, 0 }), ID, VERSION)
+    );
+    assertNotEquals(
+      etag,
+      ETags.of(List.of(new long[] { 1, 0 }), ID, VERSION)
+    );
+    assertNotEquals(
+      etag,
+      ETags.of(List.of(new long[] { 1, 0 }, new long[] { 3, 5 }), ID, VERSION)
+    );
+  }
+
+  @Test
+  void tagsAnEmptyPage() {
+    assertEquals(
+      ETags.of(List.<long[]>of(), ID, VERSION),
+      ETags.of(List.<long[]>of(), ID, VERSION)
+    );
+    assertTrue(ETags.of(List.<long[]>of(), ID, VERSION).startsWith("\"0-"));
+  }
+}